@@ -0,0 +1,98 @@
+package com.bank.accounts.benchmark;
+
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.AccountType;
+import com.bank.accounts.model.DailyBalance;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Shared data for the benchmarks. Repositories are replaced by proxies returning canned results so the
+// measurements cover the Java code paths only, not JDBC or Mockito.
+public final class Fixtures {
+
+    public static final String CUSTOMER_ID = "9b2e6c1a-3f4d-4e5a-8b7c-1d2e3f4a5b6c";
+    public static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+
+    private Fixtures() {
+    }
+
+    public static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            accounts.add(Account.builder()
+                    .id(i)
+                    .accountNumber(String.format("%06d", i))
+                    .accountType(i % 2 == 0 ? AccountType.CHECKING : AccountType.SAVINGS)
+                    .initialBalance(Money.parse("1000.00"))
+                    .status(true)
+                    .customerId(CUSTOMER_ID)
+                    .build());
+        }
+        return accounts;
+    }
+
+    // One transaction per day per account, alternating deposits and withdrawals
+    public static List<Transaction> transactions(List<Account> accounts, int perAccount) {
+        List<Transaction> txs = new ArrayList<>(accounts.size() * perAccount);
+        long id = 1;
+        for (Account account : accounts) {
+            Money balance = account.getInitialBalance();
+            for (int i = 0; i < perAccount; i++) {
+                boolean deposit = i % 2 == 0;
+                Money amount = Money.parse("25.50");
+                balance = deposit ? balance.plus(amount) : balance.minus(amount);
+                txs.add(Transaction.builder()
+                        .id(id++)
+                        .date(FROM.plusDays(i))
+                        .type(deposit ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+                        .amount(deposit ? amount : amount.negate())
+                        .balance(balance)
+                        .account(account)
+                        .build());
+            }
+        }
+        return txs;
+    }
+
+    public static List<DailyBalance> dailyBalances(List<Transaction> txs) {
+        List<DailyBalance> days = new ArrayList<>(txs.size());
+        for (Transaction tx : txs) {
+            boolean credit = tx.getAmount().signum() > 0;
+            days.add(DailyBalance.builder()
+                    .accountId(tx.getAccount().getId())
+                    .date(tx.getDate())
+                    .openingBalance(tx.getBalance().minus(tx.getAmount()))
+                    .closingBalance(tx.getBalance())
+                    .creditTotal(credit ? tx.getAmount() : Money.ZERO)
+                    .debitTotal(credit ? Money.ZERO : tx.getAmount().negate())
+                    .txCount(1)
+                    .build());
+        }
+        return days;
+    }
+
+    // Returns the canned result registered under the method name, whatever the arguments
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (results.containsKey(method.getName())) {
+                return results.get(method.getName());
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.benchmark.Fixtures;
+import com.bank.accounts.model.Account;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping and JSON serialization of the GET /reports payload.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportPayloadBenchmark {
+
+    @Param({"30", "1000"})
+    public int transactionsPerAccount;
+
+    private List<Account> accounts;
+    private List<TransactionView> transactions;
+    private List<AccountReportDTO> report;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        accounts = Fixtures.accounts(3);
+        transactions = Fixtures.transactions(accounts, transactionsPerAccount).stream()
+                .map(TransactionView::of)
+                .toList();
+        report = mapReport();
+        // same settings as the ObjectMapper Spring Boot configures
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public List<TransactionDTO> mapTransactions() {
+        List<TransactionDTO> dtos = new ArrayList<>(transactions.size());
+        for (TransactionView tx : transactions) {
+            dtos.add(TransactionDTO.fromView(tx));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<AccountReportDTO> mapReport() {
+        List<AccountReportDTO> dtos = new ArrayList<>(accounts.size());
+        int perAccount = transactions.size() / accounts.size();
+        for (int i = 0; i < accounts.size(); i++) {
+            List<TransactionDTO> txs = transactions.subList(i * perAccount, (i + 1) * perAccount).stream()
+                    .map(TransactionDTO::fromView)
+                    .toList();
+            dtos.add(AccountReportDTO.fromEntity(accounts.get(i), txs));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serializeReport() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(report);
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.accounts.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// CustomerEventListener.onCustomerEvents in process: decoding, applying to the directory and acking, against a
+// channel that does nothing. batchSize=1 is the cost of the old one-message-at-a-time path; the broker round
+// trips that batching also saves are not part of it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEventBenchmark {
+
+    private static final int MESSAGES = 10_000;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private CustomerEventListener listener;
+    private Channel channel;
+    private List<List<Message>> batches;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerDirectory directory = new CustomerDirectory(1L << 28, 1024, registry);
+        listener = new CustomerEventListener(directory, new ObjectMapper(), registry);
+        channel = (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[]{Channel.class},
+                (proxy, method, args) -> null);
+
+        batches = new ArrayList<>();
+        List<Message> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < MESSAGES; i++) {
+            MessageProperties properties = new MessageProperties();
+            properties.setDeliveryTag(i + 1);
+            properties.setReceivedRoutingKey("customer.updated");
+            String body = "{\"customerId\":\"" + UUID.randomUUID() + "\",\"status\":true}";
+            batch.add(new Message(body.getBytes(StandardCharsets.UTF_8), properties));
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    // one operation per message, so the score reads as messages per second
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void consume() throws IOException {
+        for (List<Message> batch : batches) {
+            listener.onCustomerEvents(batch, channel);
+        }
+    }
+}
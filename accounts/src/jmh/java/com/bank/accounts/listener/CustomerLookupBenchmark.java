@@ -0,0 +1,56 @@
+package com.bank.accounts.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// CustomerEventListener.exists against a populated customer directory.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerLookupBenchmark {
+
+    @Param({"100000"})
+    public int customers;
+
+    private CustomerEventListener listener;
+    private String[] known;
+    private String[] unknown;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerDirectory directory = new CustomerDirectory(1L << 28, 1024, registry);
+        listener = new CustomerEventListener(directory, new ObjectMapper(), registry);
+
+        known = new String[1024];
+        unknown = new String[1024];
+        for (int i = 0; i < customers; i++) {
+            UUID id = UUID.randomUUID();
+            directory.put(id, true);
+            if (i < known.length) {
+                known[i] = id.toString();
+            }
+        }
+        for (int i = 0; i < unknown.length; i++) {
+            unknown[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean existingCustomer() {
+        return listener.exists(known[next++ & (known.length - 1)]);
+    }
+
+    @Benchmark
+    public boolean unknownCustomer() {
+        return listener.exists(unknown[next++ & (unknown.length - 1)]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Balance arithmetic applied by LedgerWriter for every posting registered through TransactionService.
+// The bigDecimal* methods replay the previous BigDecimal implementation as a baseline; run with -prof gc
+// (the default in the jmh profile) to compare gc.alloc.rate.norm per operation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostingBenchmark {
+
+    private Money balance;
+    private Money amount;
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalAmount;
+
+    @Setup
+    public void setUp() {
+        balance = Money.parse("15230.75");
+        amount = Money.parse("120.10");
+        decimalBalance = new BigDecimal("15230.75");
+        decimalAmount = new BigDecimal("120.10");
+    }
+
+    @Benchmark
+    public Money deposit() {
+        return LedgerWriter.applyPosting(balance, TransactionType.DEPOSIT, amount);
+    }
+
+    @Benchmark
+    public Money withdrawal() {
+        return LedgerWriter.applyPosting(balance, TransactionType.WITHDRAWAL, amount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDeposit() {
+        return decimalBalance.add(decimalAmount.abs());
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalWithdrawal() {
+        BigDecimal value = decimalAmount.abs();
+        if (decimalBalance.compareTo(value) < 0) {
+            throw new IllegalStateException();
+        }
+        return decimalBalance.subtract(value);
+    }
+}
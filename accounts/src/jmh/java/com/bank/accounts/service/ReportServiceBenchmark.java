@@ -0,0 +1,69 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.benchmark.Fixtures;
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.DailyBalance;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.ArchiveSegmentRepository;
+import com.bank.accounts.repository.DailyBalanceRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Aggregation done by ReportService.getReport once the repository rows are loaded.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportServiceBenchmark {
+
+    @Param({"3"})
+    public int accounts;
+
+    @Param({"30", "1000"})
+    public int transactionsPerAccount;
+
+    private ReportService service;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        List<Account> accountRows = Fixtures.accounts(accounts);
+        List<Transaction> txRows = Fixtures.transactions(accountRows, transactionsPerAccount);
+        List<DailyBalance> days = Fixtures.dailyBalances(txRows);
+        List<DailyBalance> latest = days.stream()
+                .filter(day -> day.getDate().equals(Fixtures.FROM.plusDays(transactionsPerAccount - 1)))
+                .toList();
+
+        AccountRepository accountRepo = Fixtures.stub(AccountRepository.class,
+                Map.of("findByCustomerIdOrderById", accountRows));
+        TransactionRepository txRepo = Fixtures.stub(TransactionRepository.class,
+                Map.of("findByAccountIdsAndDateBetween", txRows.stream().map(TransactionView::of).toList()));
+        DailyBalanceRepository dailyRepo = Fixtures.stub(DailyBalanceRepository.class, Map.of(
+                "findLatestOnOrBefore", latest,
+                "findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc", days));
+
+        ArchiveStore archive = new ArchiveStore(
+                Fixtures.stub(ArchiveSegmentRepository.class, Map.of("findOverlapping", List.of())),
+                Path.of("target", "archive"), 16);
+
+        service = new ReportService(accountRepo, txRepo, dailyRepo, archive);
+        to = Fixtures.FROM.plusDays(transactionsPerAccount);
+    }
+
+    @Benchmark
+    public List<AccountReportDTO> getReport() {
+        return service.getReport(Fixtures.FROM, to, Fixtures.CUSTOMER_ID);
+    }
+}
@@ -0,0 +1,159 @@
+package com.bank.accounts.archive;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.ArchiveSegment;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.ArchiveSegmentRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Moves closed months out of the transactions table: for each account and month older than
+ * accounts.archive.retain-months, the rows are written to a segment file, then the catalog entry is saved
+ * and the rows are deleted in one transaction. Daily balances stay in the database, so report totals and
+ * balances are unaffected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "accounts.archive.enabled", havingValue = "true")
+public class ArchiveJob {
+
+    private final AccountRepository accountRepo;
+    private final TransactionRepository txRepo;
+    private final ArchiveSegmentRepository segmentRepo;
+    private final ArchiveStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int retainMonths;
+    private final int blockRows;
+    private final Counter archivedRows;
+    private final Counter archivedSegments;
+
+    public ArchiveJob(AccountRepository accountRepo,
+                      TransactionRepository txRepo,
+                      ArchiveSegmentRepository segmentRepo,
+                      ArchiveStore store,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry registry,
+                      @Value("${accounts.archive.retain-months:12}") int retainMonths,
+                      @Value("${accounts.archive.block-rows:256}") int blockRows) {
+        this.accountRepo = accountRepo;
+        this.txRepo = txRepo;
+        this.segmentRepo = segmentRepo;
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemDefaultZone();
+        this.retainMonths = retainMonths;
+        this.blockRows = blockRows;
+        this.archivedRows = Counter.builder("accounts.archive.rows")
+                .description("Transactions moved to archive segments")
+                .register(registry);
+        this.archivedSegments = Counter.builder("accounts.archive.segments")
+                .description("Archive segment files written")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${accounts.archive.cron:0 0 3 2 * *}")
+    public void archiveClosedPeriods() {
+        YearMonth cutoff = YearMonth.now(clock).minusMonths(retainMonths);
+        List<Long> accountIds = accountRepo.findAllIds();
+        long rows = 0;
+        for (Long accountId : accountIds) {
+            try {
+                rows += archiveAccount(accountId, cutoff);
+            } catch (RuntimeException ex) {
+                log.error("Archiving account {} failed; its rows stay in the database", accountId, ex);
+            }
+        }
+        log.info("Archived {} transactions older than {} for {} accounts", rows, cutoff, accountIds.size());
+    }
+
+    private long archiveAccount(Long accountId, YearMonth cutoff) {
+        Optional<LocalDate> oldest = txRepo.findFirstDateByAccountId(accountId);
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        long rows = 0;
+        for (YearMonth month = YearMonth.from(oldest.get()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            rows += archiveMonth(accountId, month);
+        }
+        return rows;
+    }
+
+    private int archiveMonth(Long accountId, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        if (segmentRepo.existsByAccountIdAndPeriodStart(accountId, start)) {
+            // a posting was backdated into a closed period; never overwrite an archived segment
+            log.warn("Account {} has transactions in already archived period {}", accountId, month);
+            return 0;
+        }
+
+        String fileName = store.fileName(accountId, month);
+        Path path = store.resolve(fileName);
+        Integer archived = transactionTemplate.execute(status -> {
+            SegmentFile.Summary summary;
+            try (Stream<TransactionView> rows = txRepo.streamByAccountIdAndDateBetween(accountId, start, end)) {
+                summary = SegmentFile.write(path, accountId, rows.iterator(), blockRows);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot write archive segment " + path, ex);
+            }
+            if (summary.rowCount() == 0) {
+                deleteQuietly(path);
+                return 0;
+            }
+
+            segmentRepo.save(ArchiveSegment.builder()
+                    .accountId(accountId)
+                    .periodStart(start)
+                    .periodEnd(end)
+                    .fileName(fileName)
+                    .rowCount(summary.rowCount())
+                    .sizeBytes(summary.sizeBytes())
+                    .createdAt(Instant.now(clock))
+                    .build());
+            int deleted = txRepo.deleteByAccountIdAndDateBetween(accountId, start, end);
+            if (deleted != summary.rowCount()) {
+                deleteQuietly(path);
+                throw new IllegalStateException("Archived " + summary.rowCount() + " rows of account " + accountId
+                        + " for " + month + " but deleted " + deleted);
+            }
+            return deleted;
+        });
+
+        if (archived != null && archived > 0) {
+            archivedRows.increment(archived);
+            archivedSegments.increment();
+            return archived;
+        }
+        return 0;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete archive segment {}", path, ex);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.accounts.archive;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.ArchiveSegment;
+import com.bank.accounts.repository.ArchiveSegmentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Read side of the cold tier: resolves catalog entries to segment files and keeps recently used ones mapped.
+@Component
+public class ArchiveStore {
+
+    private final ArchiveSegmentRepository segments;
+    private final Path directory;
+    private final Cache<String, SegmentFile> open;
+
+    public ArchiveStore(ArchiveSegmentRepository segments,
+                        @Value("${accounts.archive.directory:data/archive}") Path directory,
+                        @Value("${accounts.archive.open-segments:1024}") long openSegments) {
+        this.segments = segments;
+        this.directory = directory;
+        this.open = Caffeine.newBuilder().maximumSize(openSegments).build();
+    }
+
+    public Optional<LocalDate> archivedThrough(Long accountId) {
+        return segments.findArchivedThrough(accountId);
+    }
+
+    // Archived rows of each account within [from, to], sorted by (date, id); accounts without any are absent.
+    public Map<Long, List<TransactionView>> findByAccountsAndDateBetween(Map<Long, String> accountNumbers,
+                                                                         LocalDate from, LocalDate to) {
+        Map<Long, List<TransactionView>> rows = new HashMap<>();
+        for (ArchiveSegment segment : findSegments(accountNumbers.keySet(), from, to)) {
+            List<TransactionView> found = read(segment, accountNumbers.get(segment.getAccountId()), from, to);
+            if (!found.isEmpty()) {
+                rows.computeIfAbsent(segment.getAccountId(), id -> new ArrayList<>()).addAll(found);
+            }
+        }
+        return rows;
+    }
+
+    // Catalog entries overlapping [from, to], ordered by (account, period). Streaming callers read them one at a
+    // time, so they hold a single segment's rows instead of every archived row of the range.
+    public List<ArchiveSegment> findSegments(Collection<Long> accountIds, LocalDate from, LocalDate to) {
+        return segments.findOverlapping(accountIds, from, to);
+    }
+
+    // Rows of one segment within [from, to], sorted by (date, id)
+    public List<TransactionView> read(ArchiveSegment segment, String accountNumber, LocalDate from, LocalDate to) {
+        return file(segment).range(accountNumber, from, to);
+    }
+
+    // Keyset page over the archived rows of one account, same contract as TransactionRepository.findPageByAccountId
+    public List<TransactionView> findPage(Long accountId, String accountNumber, LocalDate afterDate, long afterId,
+                                          LocalDate to, int limit) {
+        List<TransactionView> rows = new ArrayList<>();
+        for (ArchiveSegment segment : segments.findOverlapping(List.of(accountId), afterDate, to)) {
+            rows.addAll(file(segment).after(accountNumber, afterDate, afterId, to, limit - rows.size()));
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    String fileName(Long accountId, YearMonth period) {
+        return accountId + "/" + period + ".seg";
+    }
+
+    Path resolve(String fileName) {
+        return directory.resolve(fileName);
+    }
+
+    // opened outside the cache's compute lock, like AccountCache, so the file I/O cannot pin a virtual thread
+    private SegmentFile file(ArchiveSegment segment) {
+        SegmentFile file = open.getIfPresent(segment.getFileName());
+        if (file == null) {
+            try {
+                file = SegmentFile.open(resolve(segment.getFileName()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot open archive segment " + segment.getFileName(), ex);
+            }
+            open.put(segment.getFileName(), file);
+        }
+        return file;
+    }
+}
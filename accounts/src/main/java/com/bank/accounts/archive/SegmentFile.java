@@ -0,0 +1,355 @@
+package com.bank.accounts.archive;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, compressed file holding one account's archived transactions sorted by (date, id).
+ *
+ * <pre>
+ * [block 0] ... [block n-1]   deflate-compressed rows, blockRows per block
+ * [index]                     per block: first epoch day, first id, offset, length, rows, crc32
+ * [trailer]                   account id, rows, first/last epoch day, blocks, index offset, version, magic
+ * </pre>
+ *
+ * The sparse index is small enough to be decoded on open; reads binary-search it and inflate only the
+ * blocks that overlap the requested range from the memory-mapped file.
+ */
+public final class SegmentFile {
+
+    private static final int MAGIC = 0x54585347; // "TXSG"
+    private static final int VERSION = 1;
+    private static final int ROW_BYTES = Long.BYTES + Integer.BYTES + 1 + Long.BYTES + Long.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES + 3 * Integer.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES + 4 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer data;
+    private final long accountId;
+    private final int rowCount;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final int[] blockDay;
+    private final long[] blockId;
+    private final long[] blockOffset;
+    private final int[] blockLength;
+    private final int[] blockRows;
+    private final int[] blockCrc;
+
+    private SegmentFile(Path path, MappedByteBuffer data) throws IOException {
+        this.path = path;
+        this.data = data;
+        if (data.capacity() < TRAILER_BYTES) {
+            throw new IOException("Truncated segment " + path);
+        }
+        ByteBuffer trailer = data.duplicate().position(data.capacity() - TRAILER_BYTES);
+        this.accountId = trailer.getLong();
+        this.rowCount = trailer.getInt();
+        this.firstDate = LocalDate.ofEpochDay(trailer.getInt());
+        this.lastDate = LocalDate.ofEpochDay(trailer.getInt());
+        int blocks = trailer.getInt();
+        long indexOffset = trailer.getLong();
+        int version = trailer.getInt();
+        if (trailer.getInt() != MAGIC || version != VERSION) {
+            throw new IOException("Not a transaction segment: " + path);
+        }
+        if (indexOffset + (long) blocks * INDEX_ENTRY_BYTES != data.capacity() - TRAILER_BYTES) {
+            throw new IOException("Corrupt segment index: " + path);
+        }
+
+        this.blockDay = new int[blocks];
+        this.blockId = new long[blocks];
+        this.blockOffset = new long[blocks];
+        this.blockLength = new int[blocks];
+        this.blockRows = new int[blocks];
+        this.blockCrc = new int[blocks];
+        ByteBuffer index = data.duplicate().position(Math.toIntExact(indexOffset));
+        for (int i = 0; i < blocks; i++) {
+            blockDay[i] = index.getInt();
+            blockId[i] = index.getLong();
+            blockOffset[i] = index.getLong();
+            blockLength[i] = index.getInt();
+            blockRows[i] = index.getInt();
+            blockCrc[i] = index.getInt();
+        }
+    }
+
+    public static SegmentFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new SegmentFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes rows (already sorted by date, id) to a temporary file and atomically moves it into place, so a
+     * segment is either complete or absent.
+     */
+    public static Summary write(Path path, long accountId, Iterator<TransactionView> rows, int rowsPerBlock)
+            throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        BlockWriter writer = new BlockWriter(rowsPerBlock);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (rows.hasNext()) {
+                writer.add(rows.next(), channel);
+            }
+            writer.finish(channel, accountId);
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Summary(writer.rowCount, writer.firstDay, writer.lastDay, writer.bytes);
+    }
+
+    public record Summary(int rowCount, LocalDate firstDate, LocalDate lastDate, long sizeBytes) {
+    }
+
+    public long accountId() {
+        return accountId;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public LocalDate firstDate() {
+        return firstDate;
+    }
+
+    public LocalDate lastDate() {
+        return lastDate;
+    }
+
+    public List<TransactionView> range(String accountNumber, LocalDate from, LocalDate to) {
+        return after(accountNumber, from, Long.MIN_VALUE, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rows strictly after the keyset position (afterDate, afterId) up to and including {@code to}, the same
+     * contract as {@code TransactionRepository.findPageByAccountId}.
+     */
+    public List<TransactionView> after(String accountNumber, LocalDate afterDate, long afterId, LocalDate to,
+                                       int limit) {
+        List<TransactionView> result = new ArrayList<>();
+        int afterDay = Math.toIntExact(afterDate.toEpochDay());
+        long toDay = to.toEpochDay();
+        if (blockDay.length == 0 || lastDate.toEpochDay() < afterDay || firstDate.toEpochDay() > toDay) {
+            return result;
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            for (int block = startBlock(afterDay, afterId); block < blockDay.length; block++) {
+                ByteBuffer rows = inflate(block, inflater);
+                for (int i = 0; i < blockRows[block]; i++) {
+                    long id = rows.getLong();
+                    int day = rows.getInt();
+                    byte type = rows.get();
+                    long amount = rows.getLong();
+                    long balance = rows.getLong();
+                    if (day > toDay) {
+                        return result;
+                    }
+                    if (day < afterDay || (day == afterDay && id <= afterId)) {
+                        continue;
+                    }
+                    result.add(new TransactionView(id, accountId, accountNumber, LocalDate.ofEpochDay(day),
+                            decodeType(type), Money.ofMinor(amount), Money.ofMinor(balance)));
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // last block whose first row is not after the position; the first matching row cannot be earlier
+    private int startBlock(int afterDay, long afterId) {
+        int lo = 0;
+        int hi = blockDay.length - 1;
+        int start = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blockDay[mid] < afterDay || (blockDay[mid] == afterDay && blockId[mid] <= afterId)) {
+                start = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return start;
+    }
+
+    private ByteBuffer inflate(int block, Inflater inflater) {
+        byte[] compressed = new byte[blockLength[block]];
+        data.get(Math.toIntExact(blockOffset[block]), compressed);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        if ((int) crc.getValue() != blockCrc[block]) {
+            throw new IllegalStateException("Corrupt block " + block + " in segment " + path);
+        }
+
+        byte[] raw = new byte[blockRows[block] * ROW_BYTES];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, raw.length - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != raw.length) {
+                throw new IllegalStateException("Short block " + block + " in segment " + path);
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt block " + block + " in segment " + path, ex);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static byte encodeType(TransactionType type) {
+        return switch (type) {
+            case DEPOSIT -> 0;
+            case WITHDRAWAL -> 1;
+        };
+    }
+
+    private static TransactionType decodeType(byte code) {
+        return switch (code) {
+            case 0 -> TransactionType.DEPOSIT;
+            case 1 -> TransactionType.WITHDRAWAL;
+            default -> throw new IllegalStateException("Unknown transaction type code " + code);
+        };
+    }
+
+    private static final class BlockWriter {
+
+        private final int rowsPerBlock;
+        private final ByteBuffer raw;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        private final DataOutputStream index = new DataOutputStream(indexBytes);
+        private byte[] out = new byte[1024];
+        private int pending;
+        private int rowCount;
+        private int blocks;
+        private long bytes;
+        private LocalDate firstDay;
+        private LocalDate lastDay;
+        private long lastId;
+
+        BlockWriter(int rowsPerBlock) {
+            this.rowsPerBlock = rowsPerBlock;
+            this.raw = ByteBuffer.allocate(rowsPerBlock * ROW_BYTES);
+        }
+
+        void add(TransactionView tx, FileChannel channel) throws IOException {
+            if (lastDay != null && (tx.date().isBefore(lastDay) || (tx.date().equals(lastDay) && tx.id() <= lastId))) {
+                throw new IllegalArgumentException("Segment rows must be sorted by (date, id)");
+            }
+            if (pending == 0) {
+                index.writeInt(Math.toIntExact(tx.date().toEpochDay()));
+                index.writeLong(tx.id());
+            }
+            raw.putLong(tx.id());
+            raw.putInt(Math.toIntExact(tx.date().toEpochDay()));
+            raw.put(encodeType(tx.type()));
+            raw.putLong(tx.amount().minorUnits());
+            raw.putLong(tx.balance().minorUnits());
+            pending++;
+            rowCount++;
+            if (firstDay == null) {
+                firstDay = tx.date();
+            }
+            lastDay = tx.date();
+            lastId = tx.id();
+            if (pending == rowsPerBlock) {
+                flush(channel);
+            }
+        }
+
+        void finish(FileChannel channel, long accountId) throws IOException {
+            if (pending > 0) {
+                flush(channel);
+            }
+            deflater.end();
+            long indexOffset = bytes;
+            bytes += writeFully(channel, ByteBuffer.wrap(indexBytes.toByteArray()));
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES)
+                    .putLong(accountId)
+                    .putInt(rowCount)
+                    .putInt(firstDay != null ? Math.toIntExact(firstDay.toEpochDay()) : 0)
+                    .putInt(lastDay != null ? Math.toIntExact(lastDay.toEpochDay()) : 0)
+                    .putInt(blocks)
+                    .putLong(indexOffset)
+                    .putInt(VERSION)
+                    .putInt(MAGIC)
+                    .flip();
+            bytes += writeFully(channel, trailer);
+        }
+
+        private void flush(FileChannel channel) throws IOException {
+            deflater.reset();
+            deflater.setInput(raw.array(), 0, raw.position());
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(out, 0, length);
+
+            index.writeLong(bytes);
+            index.writeInt(length);
+            index.writeInt(pending);
+            index.writeInt((int) crc.getValue());
+
+            bytes += writeFully(channel, ByteBuffer.wrap(out, 0, length));
+            blocks++;
+            pending = 0;
+            raw.clear();
+        }
+
+        private static int writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            int written = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return written;
+        }
+    }
+}
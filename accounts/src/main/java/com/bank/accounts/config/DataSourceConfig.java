@@ -0,0 +1,71 @@
+package com.bank.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Only active with accounts.datasource.replica.enabled=true; otherwise Spring Boot's single datasource is used.
+// The primary pool keeps the spring.datasource settings, the replica pool is configured under
+// accounts.datasource.replica. Both pools are Hikari, so hikaricp.* metrics are reported per pool name.
+@Configuration
+@ConditionalOnProperty(name = "accounts.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("accounts.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("accounts.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        // without a URL Boot would fall back to an embedded database if one is on the classpath
+        if (!StringUtils.hasText(properties.getUrl())) {
+            throw new IllegalStateException(
+                    "accounts.datasource.replica.enabled is true but accounts.datasource.replica.url (REPLICA_URL) is not set");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${accounts.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${accounts.datasource.replica.max-lag:PT5S}") Duration maxLag,
+            MeterRegistry registry) {
+        return new ReplicaLagGuard(replica, lagQuery, maxLag, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagGuard lagGuard,
+                                 MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagGuard, registry));
+    }
+}
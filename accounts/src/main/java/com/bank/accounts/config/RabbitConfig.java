@@ -1,8 +1,12 @@
 package com.bank.accounts.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,7 +14,12 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitConfig {
 
     public static final String EXCHANGE = "customers.exchange";
-    public static final String QUEUE = "customers.q";
+    // customers.q was declared without dead-letter arguments, and RabbitMQ refuses to redeclare a queue with
+    // different ones, so the dead-lettering queue needs a name of its own (see README, "Consumo por lotes")
+    public static final String QUEUE = "customers.q.v2";
+    public static final String DEAD_LETTER_EXCHANGE = "customers.dlx";
+    public static final String DEAD_LETTER_QUEUE = "customers.q.dlq";
+    public static final String BATCH_CONTAINER_FACTORY = "customerBatchContainerFactory";
 
     @Bean
     public TopicExchange exchange() {
@@ -19,7 +28,10 @@ public class RabbitConfig {
 
     @Bean
     public Queue queue() {
-        return QueueBuilder.durable(QUEUE).build();
+        return QueueBuilder.durable(QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(DEAD_LETTER_QUEUE)
+                .build();
     }
 
     @Bean
@@ -27,8 +39,45 @@ public class RabbitConfig {
         return BindingBuilder.bind(queue()).to(exchange()).with("customer.*");
     }
 
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue deadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    @Bean
+    public Binding deadLetterBinding() {
+        return BindingBuilder.bind(deadLetterQueue()).to(deadLetterExchange()).with(DEAD_LETTER_QUEUE);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    @Bean(BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory customerBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${accounts.customers.listener.batch-size:100}") int batchSize,
+            @Value("${accounts.customers.listener.receive-timeout-ms:200}") long receiveTimeoutMs,
+            @Value("${accounts.customers.listener.prefetch:250}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        // one consumer: with several, an update and a later delete of the same customer could land in batches
+        // applied in either order, and the directory would keep a deleted customer
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
 }
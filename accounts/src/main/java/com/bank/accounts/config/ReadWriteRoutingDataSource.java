@@ -0,0 +1,56 @@
+package com.bank.accounts.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Sends connections of read-only transactions to the replica while it is within the lag limit; everything
+// else, including reads outside a transaction, goes to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy so the connection is fetched after the transaction's read-only flag is set.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard lagGuard;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard,
+                                      MeterRegistry registry) {
+        this.lagGuard = lagGuard;
+        this.primaryRoutes = routes(registry, "primary");
+        this.replicaRoutes = routes(registry, "replica");
+        this.fallbacks = Counter.builder("accounts.datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica was lagging")
+                .register(registry);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (!lagGuard.isHealthy()) {
+            fallbacks.increment();
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter routes(MeterRegistry registry, String target) {
+        return Counter.builder("accounts.datasource.routes")
+                .tag("target", target)
+                .register(registry);
+    }
+}
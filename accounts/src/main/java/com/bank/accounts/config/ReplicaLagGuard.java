@@ -0,0 +1,85 @@
+package com.bank.accounts.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Periodically reads the replica's lag and marks it unusable when the lag is above the limit, unknown
+// (replication stopped, no status row) or the probe fails. Reads then fall back to the primary.
+@Slf4j
+public class ReplicaLagGuard {
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean healthy;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagGuard(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry registry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        Gauge.builder("accounts.datasource.replica.lag", this, guard -> guard.lagSeconds)
+                .description("Replica lag in seconds, -1 when unknown")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("accounts.datasource.replica.healthy", this, guard -> guard.healthy ? 1 : 0)
+                .register(registry);
+        probe();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.datasource.replica.lag-check-interval:PT5S}")
+    public void probe() {
+        Long lag = readLag();
+        boolean nowHealthy = lag != null && lag <= maxLagSeconds;
+        if (nowHealthy != healthy) {
+            log.warn("Replica {} (lag: {}s, limit: {}s)", nowHealthy ? "back in use" : "bypassed",
+                    lag != null ? lag : "unknown", maxLagSeconds);
+        }
+        lagSeconds = lag != null ? lag : -1;
+        healthy = nowHealthy;
+    }
+
+    private Long readLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong(lagColumn(rs.getMetaData()));
+            return rs.wasNull() ? null : lag;
+        } catch (SQLException ex) {
+            log.debug("Replica lag probe failed: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    // SHOW REPLICA STATUS returns dozens of columns; other probe queries return the lag as their only column
+    private static int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+}
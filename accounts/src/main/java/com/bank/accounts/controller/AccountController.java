@@ -1,13 +1,17 @@
 package com.bank.accounts.controller;
 
+import com.bank.accounts.dto.BalanceDTO;
+import com.bank.accounts.dto.CursorPage;
 import com.bank.accounts.model.Account;
 import com.bank.accounts.service.AccountService;
+import com.bank.accounts.service.DailyBalanceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/accounts")
@@ -15,6 +19,7 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService service;
+    private final DailyBalanceService dailyBalances;
 
     @PostMapping
     public ResponseEntity<Account> create(@RequestBody Account account) {
@@ -22,12 +27,29 @@ public class AccountController {
     }
 
     @GetMapping
-    public List<Account> getAll() {
-        return service.findAll();
+    public CursorPage<Account> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.findPage(cursor, limit);
     }
 
     @GetMapping("/{accountNumber}")
     public ResponseEntity<Account> getByNumber(@PathVariable String accountNumber) {
-        return ResponseEntity.ok(service.findByAccountNumber(accountNumber));
+        Account account = service.findByAccountNumber(accountNumber);
+        // a matching If-None-Match turns this into a 304 before the body is serialized
+        return ResponseEntity.ok().eTag("W/\"" + account.getVersion() + "\"").body(account);
+    }
+
+    @GetMapping("/{accountNumber}/balance")
+    public ResponseEntity<BalanceDTO> getBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Account account = service.findByAccountNumber(accountNumber);
+        LocalDate asOf = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(BalanceDTO.builder()
+                .accountNumber(account.getAccountNumber())
+                .date(asOf)
+                .balance(dailyBalances.balanceAsOf(account, asOf))
+                .build());
     }
 }
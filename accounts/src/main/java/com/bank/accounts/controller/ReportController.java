@@ -1,11 +1,22 @@
 package com.bank.accounts.controller;
 
 import com.bank.accounts.dto.AccountReportDTO;
-import com.bank.accounts.service.ReportService;
+import com.bank.accounts.dto.ReportJobDTO;
+import com.bank.accounts.service.ExportFormat;
+import com.bank.accounts.service.ReportCache;
+import com.bank.accounts.service.ReportExportService;
+import com.bank.accounts.service.ReportJobService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -14,13 +25,50 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReportController {
 
-    private final ReportService service;
+    private final ReportCache reportCache;
+    private final ReportExportService exportService;
+    private final ReportJobService jobService;
 
     @GetMapping
     public List<AccountReportDTO> getReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam String customer,
+            WebRequest request) {
+        // the validator is checked before the report is built, so a 304 costs one indexed aggregate
+        String eTag = reportCache.eTag(customer);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return reportCache.getReport(from, to, customer, eTag);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDTO> submitJob(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam String customer) {
-        return service.getReport(from, to, customer);
+        ReportJobDTO job = jobService.submit(from, to, customer);
+        return ResponseEntity.accepted().location(URI.create("/reports/jobs/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ReportJobDTO getJob(@PathVariable String id) {
+        return jobService.find(id);
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam String customer,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"report." + exportFormat.getExtension() + "\"");
+        exportService.export(from, to, customer, exportFormat, response.getOutputStream());
     }
 }
@@ -1,16 +1,20 @@
 package com.bank.accounts.controller;
 
-import com.bank.accounts.model.Transaction;
+import com.bank.accounts.dto.CursorPage;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Money;
 import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.service.BulkPostingService;
 import com.bank.accounts.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,25 +23,38 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService service;
+    private final BulkPostingService bulkService;
 
     @PostMapping
-    public ResponseEntity<Transaction> register(@RequestBody Map<String, Object> body) {
+    public ResponseEntity<TransactionView> register(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> body) {
         String accountNumber = (String) body.get("accountNumber");
         TransactionType type = TransactionType.valueOf((String) body.get("type"));
-        BigDecimal amount = new BigDecimal(body.get("amount").toString());
-        return ResponseEntity.status(HttpStatus.CREATED).body(service.register(accountNumber, type, amount));
+        Money amount = Money.parse(String.valueOf(body.get("amount")));
+
+        TransactionView tx = service.register(idempotencyKey, accountNumber, type, amount);
+        return ResponseEntity.status(HttpStatus.CREATED).body(tx);
+    }
+
+    @PostMapping("/batch")
+    public void registerBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        bulkService.ingest(request.getInputStream(), response.getOutputStream());
     }
 
     @GetMapping
-    public ResponseEntity<List<Transaction>> getByAccount(
+    public ResponseEntity<CursorPage<TransactionView>> getByAccount(
             @RequestParam String accountNumber,
             @RequestParam(required = false) String from,
-            @RequestParam(required = false) String to) {
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
-        LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.MIN;
+        LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.EPOCH;
         LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
 
-        List<Transaction> transactions = service.findByAccountAndDates(accountNumber, fromDate, toDate);
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok(service.findPage(accountNumber, fromDate, toDate, cursor, limit));
     }
 }
@@ -1,12 +1,12 @@
 package com.bank.accounts.dto;
 
 import com.bank.accounts.model.Account;
+import com.bank.accounts.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -16,8 +16,11 @@ import java.util.List;
 public class AccountReportDTO {
     private String accountNumber;
     private String accountType;
-    private BigDecimal initialBalance;
-    private BigDecimal currentBalance;
+    private Money initialBalance;
+    private Money currentBalance;
+    private Money totalCredits;
+    private Money totalDebits;
+    private Integer transactionCount;
     private Boolean status;
     private List<TransactionDTO> transactions;
 
@@ -27,6 +30,9 @@ public class AccountReportDTO {
                 .accountType(account.getAccountType().name())
                 .initialBalance(account.getInitialBalance())
                 .currentBalance(account.getInitialBalance())
+                .totalCredits(Money.ZERO)
+                .totalDebits(Money.ZERO)
+                .transactionCount(transactions.size())
                 .status(account.getStatus())
                 .transactions(transactions)
                 .build();
@@ -0,0 +1,6 @@
+package com.bank.accounts.dto;
+
+// Account versions only grow with each posting batch and accounts are never deleted, so the pair changes
+// whenever anything in the customer's reports can change and never repeats.
+public record AccountsVersion(Long accounts, Long versions) {
+}
@@ -0,0 +1,19 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceDTO {
+    private String accountNumber;
+    private LocalDate date;
+    private Money balance;
+}
@@ -0,0 +1,18 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostingRequest {
+    private String accountNumber;
+    private TransactionType type;
+    private Money amount;
+}
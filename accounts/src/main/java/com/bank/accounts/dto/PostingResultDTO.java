@@ -0,0 +1,21 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.model.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostingResultDTO {
+    private long index;
+    private String status;
+    private Long transactionId;
+    private Money balance;
+    private String message;
+}
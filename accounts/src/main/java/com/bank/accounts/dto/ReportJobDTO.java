@@ -0,0 +1,46 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.model.ReportJob;
+import com.bank.accounts.model.ReportJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobDTO {
+    private String id;
+    private ReportJobStatus status;
+    private String customer;
+    private LocalDate from;
+    private LocalDate to;
+    private Instant createdAt;
+    private Instant completedAt;
+    private String error;
+    // the stored JSON of the report, written without parsing it again
+    @JsonRawValue
+    private String result;
+
+    public static ReportJobDTO fromEntity(ReportJob job, boolean withResult) {
+        return ReportJobDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .customer(job.getCustomerId())
+                .from(job.getFromDate())
+                .to(job.getToDate())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .error(job.getError())
+                .result(withResult ? job.getResult() : null)
+                .build();
+    }
+}
@@ -1,12 +1,12 @@
 package com.bank.accounts.dto;
 
+import com.bank.accounts.model.Money;
 import com.bank.accounts.model.Transaction;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -16,8 +16,17 @@ import java.time.LocalDate;
 public class TransactionDTO {
     private LocalDate date;
     private String type;
-    private BigDecimal amount;
-    private BigDecimal balance;
+    private Money amount;
+    private Money balance;
+
+    public static TransactionDTO fromView(TransactionView tx) {
+        return TransactionDTO.builder()
+                .date(tx.date())
+                .type(tx.type().name())
+                .amount(tx.amount())
+                .balance(tx.balance())
+                .build();
+    }
 
     public static TransactionDTO fromEntity(Transaction tx) {
         return TransactionDTO.builder()
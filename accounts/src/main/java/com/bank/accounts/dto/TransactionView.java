@@ -0,0 +1,24 @@
+package com.bank.accounts.dto;
+
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+// Flat read model for transactions, filled by constructor-expression queries so the account is never loaded
+// per row and nothing enters the persistence context.
+public record TransactionView(Long id,
+                              @JsonIgnore Long accountId,
+                              String accountNumber,
+                              LocalDate date,
+                              TransactionType type,
+                              Money amount,
+                              Money balance) {
+
+    public static TransactionView of(Transaction tx) {
+        return new TransactionView(tx.getId(), tx.getAccount().getId(), tx.getAccount().getAccountNumber(),
+                tx.getDate(), tx.getType(), tx.getAmount(), tx.getBalance());
+    }
+}
@@ -0,0 +1,8 @@
+package com.bank.accounts.exception;
+
+// The wait for a posting ran out; unlike other busy errors the posting may still commit afterwards.
+public class PostingTimeoutException extends ServiceBusyException {
+    public PostingTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.accounts.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,410 @@
+package com.bank.accounts.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Set of known customer ids kept as two longs per UUID in a linear-probing table, with the
+// "slot used" and "customer active" flags packed into bitsets (about 16.25 bytes per slot).
+// The table never grows past accounts.customers.directory.max-bytes; inserts beyond that are rejected.
+// A scalable Bloom filter in front of it answers most lookups of unknown ids without taking the lock; it cannot
+// forget ids, so it is rebuilt from the table once removals make up a quarter of what it holds.
+@Slf4j
+@Component
+public class CustomerDirectory {
+
+    static final int MIN_CAPACITY = 16;
+    static final int MAX_CAPACITY = 1 << 29;
+    private static final double MAX_LOAD = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxCapacity;
+    private final int filterCapacity;
+    private final double filterFpp;
+    private final Counter rejected;
+    private final Counter definiteNegatives;
+    private final Counter falsePositives;
+    private volatile ScalableBloomFilter filter;
+    private int removedSinceRebuild;
+
+    private long[] keys;
+    private long[] used;
+    private long[] active;
+    private int mask;
+    private int size;
+
+    @Autowired
+    public CustomerDirectory(@Value("${accounts.customers.directory.max-bytes:268435456}") long maxBytes,
+                             @Value("${accounts.customers.directory.initial-capacity:1024}") int initialCapacity,
+                             @Value("${accounts.customers.bloom.initial-capacity:65536}") int filterCapacity,
+                             @Value("${accounts.customers.bloom.fpp:0.01}") double filterFpp,
+                             MeterRegistry registry) {
+        this.maxCapacity = capacityFor(maxBytes);
+        if (maxCapacity < MIN_CAPACITY) {
+            throw new IllegalArgumentException("Customer directory memory ceiling is too small: " + maxBytes);
+        }
+        allocate(Math.min(maxCapacity, Math.max(MIN_CAPACITY, powerOfTwoAtLeast(initialCapacity))));
+        this.filterCapacity = filterCapacity;
+        this.filterFpp = filterFpp;
+        this.filter = new ScalableBloomFilter(filterCapacity, filterFpp);
+
+        this.rejected = Counter.builder("customers.directory.rejected")
+                .description("Customers not stored because the directory reached its memory ceiling")
+                .register(registry);
+        Gauge.builder("customers.directory.size", this, CustomerDirectory::size).register(registry);
+        Gauge.builder("customers.directory.capacity", this, CustomerDirectory::capacity).register(registry);
+        Gauge.builder("customers.directory.occupancy", this, CustomerDirectory::occupancy).register(registry);
+        Gauge.builder("customers.directory.bytes", this, CustomerDirectory::bytes)
+                .baseUnit("bytes")
+                .register(registry);
+
+        this.definiteNegatives = Counter.builder("customers.bloom.negatives")
+                .description("Lookups answered by the Bloom filter alone")
+                .register(registry);
+        this.falsePositives = Counter.builder("customers.bloom.false-positives")
+                .description("Lookups the Bloom filter passed that the table did not contain")
+                .register(registry);
+        Gauge.builder("customers.bloom.fill-ratio", this, d -> d.filter.fillRatio()).register(registry);
+        Gauge.builder("customers.bloom.expected-fpp", this, d -> d.filter.expectedFpp()).register(registry);
+        Gauge.builder("customers.bloom.stages", this, d -> d.filter.stageCount()).register(registry);
+        Gauge.builder("customers.bloom.bytes", this, d -> d.filter.bits() / 8.0)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    CustomerDirectory(long maxBytes, int initialCapacity, MeterRegistry registry) {
+        this(maxBytes, initialCapacity, 1024, 0.01, registry);
+    }
+
+    public boolean exists(String customerId) {
+        UUID id = parse(customerId);
+        return id != null && exists(id);
+    }
+
+    public boolean isActive(String customerId) {
+        UUID id = parse(customerId);
+        return id != null && isActive(id);
+    }
+
+    public boolean exists(UUID id) {
+        if (definitelyAbsent(id)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return found(find(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isActive(UUID id) {
+        if (definitelyAbsent(id)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return found(slot) && bit(active, slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean put(UUID id, boolean isActive) {
+        lock.writeLock().lock();
+        try {
+            return putLocked(id.getMostSignificantBits(), id.getLeastSignificantBits(), isActive);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int applyAll(Collection<Change> changes) {
+        int applied = 0;
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                long hi = change.id().getMostSignificantBits();
+                long lo = change.id().getLeastSignificantBits();
+                if (change.removed() ? removeLocked(hi, lo) : putLocked(hi, lo, change.active())) {
+                    applied++;
+                }
+            }
+            rebuildIfStaleLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return applied;
+    }
+
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            rebuildIfStaleLocked();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Visits every entry under the read lock, so lookups continue but changes wait; returns the entries visited.
+    public int export(EntryVisitor visitor) throws IOException {
+        lock.readLock().lock();
+        try {
+            int visited = 0;
+            for (int slot = 0; slot <= mask; slot++) {
+                if (bit(used, slot)) {
+                    visitor.visit(keys[2 * slot], keys[2 * slot + 1], bit(active, slot));
+                    visited++;
+                }
+            }
+            return visited;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Replaces the filter with one sized for the current entries, dropping the bits of removed ids.
+    public void rebuildFilter() {
+        lock.writeLock().lock();
+        try {
+            rebuildLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        lock.readLock().lock();
+        try {
+            return mask + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double occupancy() {
+        lock.readLock().lock();
+        try {
+            return (double) size / (mask + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long bytes() {
+        lock.readLock().lock();
+        try {
+            return 8L * (keys.length + used.length + active.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    ScalableBloomFilter filter() {
+        return filter;
+    }
+
+    static UUID parse(String customerId) {
+        if (customerId == null || customerId.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(customerId);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    static int capacityFor(long maxBytes) {
+        // 16 bytes of key plus 2 flag bits per slot
+        long slots = Math.min(maxBytes * 4 / 65, MAX_CAPACITY);
+        return slots < 1 ? 0 : Integer.highestOneBit((int) slots);
+    }
+
+    private boolean putLocked(long hi, long lo, boolean isActive) {
+        int slot = find(hi, lo);
+        if (slot >= 0) {
+            setBit(active, slot, isActive);
+            return true;
+        }
+        if (size + 1 > (mask + 1) * MAX_LOAD) {
+            if (mask + 1 >= maxCapacity) {
+                rejected.increment();
+                log.warn("Customer directory is full ({} entries); raise accounts.customers.directory.max-bytes", size);
+                return false;
+            }
+            resize((mask + 1) * 2);
+        }
+        insert(hi, lo, isActive);
+        filter.add(hi, lo);
+        size++;
+        return true;
+    }
+
+    private boolean removeLocked(long hi, long lo) {
+        int slot = find(hi, lo);
+        if (slot < 0) {
+            return false;
+        }
+
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (bit(used, next)) {
+            int home = hash(keys[2 * next], keys[2 * next + 1]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[2 * gap] = keys[2 * next];
+                keys[2 * gap + 1] = keys[2 * next + 1];
+                setBit(active, gap, bit(active, next));
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        setBit(used, gap, false);
+        setBit(active, gap, false);
+        size--;
+        removedSinceRebuild++;
+        return true;
+    }
+
+    private boolean definitelyAbsent(UUID id) {
+        if (filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits())) {
+            return false;
+        }
+        definiteNegatives.increment();
+        return true;
+    }
+
+    private boolean found(int slot) {
+        if (slot < 0) {
+            falsePositives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void rebuildIfStaleLocked() {
+        if (removedSinceRebuild > 0 && removedSinceRebuild * 4L >= filter.size()) {
+            rebuildLocked();
+        }
+    }
+
+    private void rebuildLocked() {
+        // headroom so the rebuilt filter keeps a single stage while the directory grows by half again
+        int capacity = (int) Math.min(Integer.MAX_VALUE / 2, Math.max(filterCapacity, size + (long) size / 2));
+        ScalableBloomFilter rebuilt = new ScalableBloomFilter(capacity, filterFpp);
+        for (int slot = 0; slot <= mask; slot++) {
+            if (bit(used, slot)) {
+                rebuilt.add(keys[2 * slot], keys[2 * slot + 1]);
+            }
+        }
+        filter = rebuilt;
+        removedSinceRebuild = 0;
+    }
+
+    private int find(long hi, long lo) {
+        int slot = hash(hi, lo) & mask;
+        while (bit(used, slot)) {
+            if (keys[2 * slot] == hi && keys[2 * slot + 1] == lo) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long hi, long lo, boolean isActive) {
+        int slot = hash(hi, lo) & mask;
+        while (bit(used, slot)) {
+            slot = (slot + 1) & mask;
+        }
+        keys[2 * slot] = hi;
+        keys[2 * slot + 1] = lo;
+        setBit(used, slot, true);
+        setBit(active, slot, isActive);
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldUsed = used;
+        long[] oldActive = active;
+        int oldCapacity = mask + 1;
+
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            if (bit(oldUsed, slot)) {
+                insert(oldKeys[2 * slot], oldKeys[2 * slot + 1], bit(oldActive, slot));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[2 * capacity];
+        used = new long[(capacity + 63) >>> 6];
+        active = new long[(capacity + 63) >>> 6];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi ^ Long.rotateLeft(lo, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static boolean bit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long hi, long lo, boolean active) throws IOException;
+    }
+
+    public record Change(UUID id, boolean active, boolean removed) {
+
+        public static Change upsert(UUID id, boolean active) {
+            return new Change(id, active, false);
+        }
+
+        public static Change removal(UUID id) {
+            return new Change(id, false, true);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.accounts.listener;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Fills the customer directory from GET /customers at startup, after the snapshot (when there is one) and
+// before the listener containers start. The directory is then the only thing account creation asks, so it must
+// hold the customers whose events this instance never saw: everyone after a restart without a snapshot, and
+// whoever changed after the snapshot was last saved. Removals missed the same way are not visible in a listing;
+// the directory keeps those ids until their next event.
+@Slf4j
+@Component
+public class CustomerDirectoryLoader {
+
+    static final int PAGE_SIZE = 500;
+
+    private final RestClient client;
+    private final CustomerDirectory directory;
+
+    @Autowired
+    public CustomerDirectoryLoader(RestClient.Builder builder,
+                                   CustomerDirectory directory,
+                                   ObjectProvider<CustomerDirectorySnapshot> snapshot,
+                                   @Value("${accounts.customers.loader.url:}") String url,
+                                   @Value("${accounts.customers.loader.timeout:PT5S}") Duration timeout) {
+        this(StringUtils.hasText(url) ? client(builder, url, timeout) : null, directory);
+        // resolved only so the snapshot is loaded first and this listing is applied on top of it
+        snapshot.ifAvailable(loaded -> { });
+    }
+
+    CustomerDirectoryLoader(RestClient client, CustomerDirectory directory) {
+        this.client = client;
+        this.directory = directory;
+    }
+
+    // An unreachable customers service is not fatal: the directory keeps what the snapshot gave it and fills
+    // from the events.
+    @PostConstruct
+    public void load() {
+        if (client == null) {
+            return;
+        }
+        try {
+            int loaded = fetch();
+            directory.rebuildFilter();
+            log.info("Loaded {} customers from the customers service", loaded);
+        } catch (RestClientException ex) {
+            log.warn("Could not load the customer directory from the customers service: {}", ex.getMessage());
+        }
+    }
+
+    int fetch() {
+        int loaded = 0;
+        String cursor = null;
+        do {
+            Optional<String> after = Optional.ofNullable(cursor);
+            Page page = client.get()
+                    .uri(uri -> uri.path("/customers")
+                            .queryParam("limit", PAGE_SIZE)
+                            .queryParamIfPresent("cursor", after)
+                            .build())
+                    .retrieve()
+                    .body(Page.class);
+            if (page == null || page.items() == null) {
+                break;
+            }
+            List<CustomerDirectory.Change> changes = new ArrayList<>(page.items().size());
+            for (Item item : page.items()) {
+                UUID id = CustomerDirectory.parse(item.customerId());
+                if (id != null) {
+                    changes.add(CustomerDirectory.Change.upsert(id, !Boolean.FALSE.equals(item.status())));
+                }
+            }
+            directory.applyAll(changes);
+            loaded += changes.size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return loaded;
+    }
+
+    private static RestClient client(RestClient.Builder builder, String url, Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        return builder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    record Page(List<Item> items, String nextCursor) {
+    }
+
+    record Item(String customerId, Boolean status) {
+    }
+}
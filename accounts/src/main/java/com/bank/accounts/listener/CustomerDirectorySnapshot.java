@@ -0,0 +1,138 @@
+package com.bank.accounts.listener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Persists the customer directory so a restart does not forget every customer whose events were already
+// acknowledged. Loaded before the listener containers start. Events acknowledged after the last save are not
+// redelivered, so CustomerDirectoryLoader lists the customers service on top of the loaded entries.
+// The Bloom filter is not stored: it is rebuilt from the loaded entries, sized for them.
+//
+// Layout: magic, version, then per entry a flag byte (1 active, 2 inactive) and the two halves of the UUID,
+// closed by a 0 flag, the entry count and a CRC32 of everything before it.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "accounts.customers.snapshot.enabled", havingValue = "true")
+public class CustomerDirectorySnapshot {
+
+    private static final int MAGIC = 0x43444952; // "CDIR"
+    private static final int VERSION = 1;
+    private static final byte END = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte INACTIVE = 2;
+    private static final int LOAD_CHUNK = 4096;
+
+    private final CustomerDirectory directory;
+    private final Path path;
+
+    public CustomerDirectorySnapshot(CustomerDirectory directory,
+                                     @Value("${accounts.customers.snapshot.path:data/customers.snapshot}") Path path) {
+        this.directory = directory;
+        this.path = path;
+    }
+
+    // A missing or unreadable snapshot is not fatal: the directory starts empty, and CustomerDirectoryLoader and
+    // the events fill it.
+    @PostConstruct
+    public void load() {
+        try {
+            int loaded = read();
+            directory.rebuildFilter();
+            log.info("Loaded {} customers from {}", loaded, path);
+        } catch (NoSuchFileException ex) {
+            log.info("No customer directory snapshot at {}, starting empty", path);
+        } catch (IOException ex) {
+            log.warn("Ignoring customer directory snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.customers.snapshot.interval:PT5M}",
+            initialDelayString = "${accounts.customers.snapshot.interval:PT5M}")
+    @PreDestroy
+    public synchronized void save() {
+        try {
+            int saved = write();
+            log.debug("Saved {} customers to {}", saved, path);
+        } catch (IOException ex) {
+            log.warn("Could not save the customer directory to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    int read() throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), new CRC32());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a customer directory snapshot");
+            }
+
+            // entries are only applied once the checksum matches, so a torn file never half-loads
+            List<CustomerDirectory.Change> changes = new ArrayList<>();
+            byte flag;
+            while ((flag = in.readByte()) != END) {
+                if (flag != ACTIVE && flag != INACTIVE) {
+                    throw new IOException("Corrupt customer directory snapshot");
+                }
+                UUID id = new UUID(in.readLong(), in.readLong());
+                changes.add(CustomerDirectory.Change.upsert(id, flag == ACTIVE));
+            }
+            int count = in.readInt();
+            long expected = checked.getChecksum().getValue();
+            if (count != changes.size() || in.readLong() != expected) {
+                throw new IOException("Customer directory snapshot failed its checksum");
+            }
+
+            for (int from = 0; from < changes.size(); from += LOAD_CHUNK) {
+                directory.applyAll(changes.subList(from, Math.min(changes.size(), from + LOAD_CHUNK)));
+            }
+            return count;
+        }
+    }
+
+    int write() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int count;
+        try (CheckedOutputStream checked = new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)), new CRC32());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            count = directory.export((hi, lo, active) -> {
+                out.writeByte(active ? ACTIVE : INACTIVE);
+                out.writeLong(hi);
+                out.writeLong(lo);
+            });
+            out.writeByte(END);
+            out.writeInt(count);
+            out.writeLong(checked.getChecksum().getValue());
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+}
@@ -1,25 +1,108 @@
 package com.bank.accounts.listener;
 
+import com.bank.accounts.config.RabbitConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class CustomerEventListener {
 
-    private final Map<String, CustomerEvent> customerCache = new ConcurrentHashMap<>();
+    private static final String DELETED = "customer.deleted";
 
-    @RabbitListener(queues = "customers.q")
-    public void onCustomerEvent(CustomerEvent event) {
-        log.info("Received CustomerEvent: {}", event);
-        customerCache.put(event.customerId(), event);
+    private final CustomerDirectory directory;
+    private final ObjectMapper objectMapper;
+    private final Counter consumed;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+
+    public CustomerEventListener(CustomerDirectory directory, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.consumed = Counter.builder("customers.events.consumed").register(registry);
+        this.deadLettered = Counter.builder("customers.events.dead-lettered").register(registry);
+        this.batchTimer = Timer.builder("customers.events.batch")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // Each batch is applied to the directory under one lock and acknowledged with a single multiple-ack.
+    // Messages that cannot be decoded are rejected without requeue so they go to the dead-letter queue; so is
+    // the whole batch when the directory fails to apply it, rather than leaving it unacked until the channel
+    // closes. Requeueing would redeliver a batch that fails the same way in a tight loop.
+    @RabbitListener(queues = RabbitConfig.QUEUE, containerFactory = RabbitConfig.BATCH_CONTAINER_FACTORY)
+    public void onCustomerEvents(List<Message> messages, Channel channel) throws IOException {
+        Timer.Sample sample = Timer.start();
+        List<CustomerDirectory.Change> changes = new ArrayList<>(messages.size());
+        long lastGoodTag = -1;
+
+        for (Message message : messages) {
+            long tag = message.getMessageProperties().getDeliveryTag();
+            CustomerDirectory.Change change = decode(message);
+            if (change == null) {
+                channel.basicNack(tag, false, false);
+                deadLettered.increment();
+                continue;
+            }
+            changes.add(change);
+            lastGoodTag = Math.max(lastGoodTag, tag);
+        }
+
+        try {
+            directory.applyAll(changes);
+        } catch (RuntimeException ex) {
+            log.error("Dead-lettering a batch of {} customer events the directory could not apply", changes.size(), ex);
+            if (lastGoodTag >= 0) {
+                channel.basicNack(lastGoodTag, true, false);
+            }
+            deadLettered.increment(changes.size());
+            sample.stop(batchTimer);
+            return;
+        }
+        if (lastGoodTag >= 0) {
+            channel.basicAck(lastGoodTag, true);
+        }
+
+        consumed.increment(changes.size());
+        sample.stop(batchTimer);
+        log.debug("Applied {} customer events ({} dead-lettered)", changes.size(), messages.size() - changes.size());
     }
 
     public boolean exists(String customerId) {
-        return customerCache.containsKey(customerId);
+        return directory.exists(customerId);
+    }
+
+    public boolean isActive(String customerId) {
+        return directory.isActive(customerId);
+    }
+
+    private CustomerDirectory.Change decode(Message message) {
+        try {
+            CustomerEvent event = objectMapper.readValue(message.getBody(), CustomerEvent.class);
+            UUID id = CustomerDirectory.parse(event.customerId());
+            if (id == null) {
+                log.warn("Dead-lettering CustomerEvent with a non-UUID customerId: {}", event.customerId());
+                return null;
+            }
+            if (DELETED.equals(message.getMessageProperties().getReceivedRoutingKey())) {
+                return CustomerDirectory.Change.removal(id);
+            }
+            return CustomerDirectory.Change.upsert(id, !Boolean.FALSE.equals(event.status()));
+        } catch (IOException ex) {
+            log.warn("Dead-lettering undecodable customer event: {}", ex.getMessage());
+            return null;
+        }
     }
 }
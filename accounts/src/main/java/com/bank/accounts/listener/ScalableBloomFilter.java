@@ -0,0 +1,164 @@
+package com.bank.accounts.listener;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over 128-bit keys that grows by adding stages instead of degrading (Almeida et al.,
+// "Scalable Bloom Filters"). Stage i holds initialCapacity * 2^i keys at a false-positive rate of
+// fpp / 2^(i+1), so the rate across all stages stays below fpp however many keys are added.
+// Lookups are lock-free; adds must be serialized by the caller (CustomerDirectory adds under its write lock).
+final class ScalableBloomFilter {
+
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final int initialCapacity;
+    private final double fpp;
+    private volatile Stage[] stages;
+
+    ScalableBloomFilter(int initialCapacity, double fpp) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Bloom filter capacity must be positive: " + initialCapacity);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("Bloom filter false-positive rate must be in (0, 1): " + fpp);
+        }
+        this.initialCapacity = initialCapacity;
+        this.fpp = fpp;
+        this.stages = new Stage[]{new Stage(initialCapacity, fpp / 2)};
+    }
+
+    boolean mightContain(long hi, long lo) {
+        long h1 = hash1(hi, lo);
+        long h2 = hash2(hi, lo);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(long hi, long lo) {
+        long h1 = hash1(hi, lo);
+        long h2 = hash2(hi, lo);
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.count >= last.capacity) {
+            // each stage doubles the capacity and halves the rate of the previous one
+            Stage next = new Stage((int) Math.min((long) last.capacity * 2, Integer.MAX_VALUE / 2), last.fpp / 2);
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = next;
+            stages = current;
+            last = next;
+        }
+        last.add(h1, h2);
+    }
+
+    long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count;
+        }
+        return size;
+    }
+
+    int stageCount() {
+        return stages.length;
+    }
+
+    long bits() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    // share of set bits in the stage taking new keys; it reaches about 0.5 when the stage is full
+    double fillRatio() {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        return (double) last.setBits / last.bits;
+    }
+
+    // false-positive rate implied by the bits actually set, across all stages
+    double expectedFpp() {
+        double none = 1;
+        for (Stage stage : stages) {
+            none *= 1 - Math.pow((double) stage.setBits / stage.bits, stage.hashes);
+        }
+        return 1 - none;
+    }
+
+    int initialCapacity() {
+        return initialCapacity;
+    }
+
+    double fpp() {
+        return fpp;
+    }
+
+    // two independent hashes; the k probes of a stage are h1 + i * h2 (Kirsch and Mitzenmacher)
+    private static long hash1(long hi, long lo) {
+        return mix(hi ^ Long.rotateLeft(lo, 32));
+    }
+
+    private static long hash2(long hi, long lo) {
+        return mix(lo ^ Long.rotateLeft(hi, 17) ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+        private final int capacity;
+        private final double fpp;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        // only written by the single adder; read racily by the gauges
+        private volatile int count;
+        private volatile long setBits;
+
+        Stage(int capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            long optimal = (long) Math.ceil(-capacity * Math.log(fpp) / LN2_SQUARED);
+            this.bits = Math.max(64, (optimal + 63) & ~63L);
+            this.hashes = Math.max(1, (int) Math.ceil(-Math.log(fpp) / Math.log(2)));
+            this.words = new AtomicLongArray((int) (bits >>> 6));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long h1, long h2) {
+            long set = setBits;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, bits);
+                int word = (int) (index >>> 6);
+                long before = words.get(word);
+                long after = before | (1L << index);
+                if (after != before) {
+                    words.set(word, after);
+                    set++;
+                }
+            }
+            setBits = set;
+            count++;
+        }
+    }
+}
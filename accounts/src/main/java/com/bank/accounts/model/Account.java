@@ -1,11 +1,10 @@
 package com.bank.accounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Entity
 @Getter
 @Setter
@@ -27,11 +26,18 @@ public class Account {
     private AccountType accountType;
 
     @NotNull
-    private BigDecimal initialBalance;
+    @Column(precision = 15, scale = 2)
+    private Money initialBalance;
 
     @NotNull
     private Boolean status = true;
 
     @Column(nullable = false)
     private String customerId;
+
+    // bumped by every posting batch; the ETag of GET /accounts/{accountNumber}
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,14 @@
+package com.bank.accounts.model;
+
+// Immutable account metadata safe to cache; deliberately carries no balance.
+public record AccountSnapshot(Long id,
+                              String accountNumber,
+                              AccountType accountType,
+                              Boolean status,
+                              String customerId) {
+
+    public static AccountSnapshot of(Account account) {
+        return new AccountSnapshot(account.getId(), account.getAccountNumber(), account.getAccountType(),
+                account.getStatus(), account.getCustomerId());
+    }
+}
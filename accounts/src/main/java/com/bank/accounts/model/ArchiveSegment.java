@@ -0,0 +1,46 @@
+package com.bank.accounts.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Catalog entry for an immutable segment file holding one account's transactions for a closed period.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "archive_segments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_archive_segments_account_period",
+                columnNames = {"account_id", "period_start"}))
+public class ArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    // relative to accounts.archive.directory
+    @Column(nullable = false, length = 255)
+    private String fileName;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
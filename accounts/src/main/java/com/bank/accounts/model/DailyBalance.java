@@ -0,0 +1,48 @@
+package com.bank.accounts.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "daily_balances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_balances_account_date",
+                columnNames = {"account_id", "date"}))
+public class DailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotNull
+    @Column(precision = 15, scale = 2)
+    private Money openingBalance;
+
+    @NotNull
+    @Column(precision = 15, scale = 2)
+    private Money closingBalance;
+
+    @NotNull
+    @Column(precision = 15, scale = 2)
+    private Money debitTotal;
+
+    @NotNull
+    @Column(precision = 15, scale = 2)
+    private Money creditTotal;
+
+    @NotNull
+    private Integer txCount;
+}
@@ -0,0 +1,117 @@
+package com.bank.accounts.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Monetary amount held as a long of minor units (cents) with a fixed scale of 2, matching the DECIMAL(15,2)
+// columns. Arithmetic is plain long math; results outside the column range fail instead of wrapping.
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    // DECIMAL(15,2): 13 integer digits and 2 decimals
+    static final long MAX_MINOR = 999_999_999_999_999L;
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        if (minor > MAX_MINOR || minor < -MAX_MINOR) {
+            throw new IllegalArgumentException("Amount out of range");
+        }
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    // Rejects values with more than two decimals rather than rounding them silently
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ofMinor(value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimals and fit DECIMAL(15,2)");
+        }
+    }
+
+    public static Money parse(String value) {
+        try {
+            return of(new BigDecimal(value));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid amount: " + value);
+        }
+    }
+
+    public long minorUnits() {
+        return minor;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(minor + other.minor);
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(minor - other.minor);
+    }
+
+    public Money negate() {
+        return minor == 0 ? this : new Money(-minor);
+    }
+
+    public Money abs() {
+        return minor < 0 ? new Money(-minor) : this;
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    public boolean isLessThan(Money other) {
+        return minor < other.minor;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    // Plain decimal form, e.g. "-12.05"
+    @Override
+    public String toString() {
+        long units = Math.abs(minor);
+        StringBuilder sb = new StringBuilder(20);
+        if (minor < 0) {
+            sb.append('-');
+        }
+        sb.append(units / 100).append('.');
+        long cents = units % 100;
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents).toString();
+    }
+}
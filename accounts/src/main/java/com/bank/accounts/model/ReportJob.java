@@ -0,0 +1,52 @@
+package com.bank.accounts.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "report_jobs")
+public class ReportJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    // customer|from|to; identical requests share a computation and, for closed periods, a stored result
+    @Column(nullable = false, length = 255)
+    private String requestKey;
+
+    @Column(nullable = false, length = 100)
+    private String customerId;
+
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    // serialized List<AccountReportDTO>, returned as-is
+    @Column(columnDefinition = "LONGTEXT")
+    private String result;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant completedAt;
+}
@@ -0,0 +1,8 @@
+package com.bank.accounts.model;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
@@ -16,8 +15,10 @@ import java.time.LocalDate;
 @Table(name = "transactions")
 public class Transaction {
 
+    // Pooled ids (a table-backed sequence on MySQL) keep Hibernate insert batching enabled.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 100)
     private Long id;
 
     @NotNull
@@ -27,12 +28,14 @@ public class Transaction {
     private TransactionType type;
 
     @NotNull
-    private BigDecimal amount;
+    @Column(precision = 15, scale = 2)
+    private Money amount;
 
     @NotNull
-    private BigDecimal balance;
+    @Column(precision = 15, scale = 2)
+    private Money balance;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private Account account;
 }
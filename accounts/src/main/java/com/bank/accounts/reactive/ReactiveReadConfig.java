@@ -0,0 +1,71 @@
+package com.bank.accounts.reactive;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// Only active with accounts.reactive.enabled=true. The pool is built here instead of by Spring Boot's R2DBC
+// auto-configuration (excluded in application.yml): that one would also register an R2DBC transaction manager
+// next to the JPA one. These reads run without transactions, like the non-transactional JPA lookups.
+// The pool is exposed wrapped in ReactivePool, not as a ConnectionFactory bean: a ConnectionFactory in the
+// context makes DataSourceAutoConfiguration back off, and the JPA side would start without a DataSource.
+// For the same reason Boot's pool metrics don't see it, so they are bound here, as r2dbc.pool.* with
+// name=reactiveConnectionPool.
+@Configuration
+@ConditionalOnProperty(name = "accounts.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    public record ReactivePool(ConnectionPool pool) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pool.dispose();
+        }
+    }
+
+    @Bean
+    public ReactivePool reactiveConnectionPool(
+            @Value("${accounts.reactive.url}") String url,
+            @Value("${accounts.reactive.username:}") String username,
+            @Value("${accounts.reactive.password:}") String password,
+            @Value("${accounts.reactive.pool.initial-size:2}") int initialSize,
+            @Value("${accounts.reactive.pool.max-size:10}") int maxSize,
+            @Value("${accounts.reactive.pool.max-idle-time:PT30M}") Duration maxIdleTime,
+            @Value("${accounts.reactive.pool.max-acquire-time:PT5S}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ReactivePool(new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive-reads")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxAcquireTime(maxAcquireTime)
+                .build()));
+    }
+
+    @Bean
+    public MeterBinder reactiveConnectionPoolMetrics(ReactivePool reactiveConnectionPool) {
+        return new ConnectionPoolMetrics(reactiveConnectionPool.pool(), "reactiveConnectionPool", Tags.empty());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactivePool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool.pool());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.accounts.reactive;
+
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Served by Spring MVC: a Mono/Flux return value releases the request thread until the database answers, and
+// an NDJSON Flux is written one element at a time, requesting the next only after the previous one is flushed.
+// Writes (POST /transactions) stay on the blocking JPA path.
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "accounts.reactive.enabled", havingValue = "true")
+public class ReactiveReadController {
+
+    private final ReactiveReadService service;
+
+    @GetMapping("/accounts/{accountNumber}")
+    public Mono<Account> getAccount(@PathVariable String accountNumber) {
+        return service.findAccount(accountNumber);
+    }
+
+    @GetMapping(value = "/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionView> getTransactions(
+            @RequestParam String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return service.streamTransactions(accountNumber,
+                from != null ? from : LocalDate.EPOCH,
+                to != null ? to : LocalDate.now());
+    }
+
+    @GetMapping(value = "/reports", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountReportDTO> getReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam String customer) {
+        return service.streamReport(from, to, customer);
+    }
+}
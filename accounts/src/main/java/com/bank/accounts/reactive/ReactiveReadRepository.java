@@ -0,0 +1,98 @@
+package com.bank.accounts.reactive;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.AccountType;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Same queries as the JPA repositories, against the same indexes (see QueryPlanTest), read through R2DBC.
+// Rows are mapped straight to the read models; nothing is managed, so nothing is cached per request.
+@Repository
+@ConditionalOnProperty(name = "accounts.reactive.enabled", havingValue = "true")
+public class ReactiveReadRepository {
+
+    private static final String ACCOUNT_COLUMNS =
+            "select id, account_number, account_type, initial_balance, status, customer_id from accounts";
+
+    private final DatabaseClient db;
+
+    public ReactiveReadRepository(DatabaseClient reactiveDatabaseClient) {
+        this.db = reactiveDatabaseClient;
+    }
+
+    public Mono<Account> findAccount(String accountNumber) {
+        return db.sql(ACCOUNT_COLUMNS + " where account_number = :accountNumber")
+                .bind("accountNumber", accountNumber)
+                .map(ReactiveReadRepository::account)
+                .one();
+    }
+
+    public Flux<Account> findAccountsByCustomer(String customerId) {
+        return db.sql(ACCOUNT_COLUMNS + " where customer_id = :customerId order by id")
+                .bind("customerId", customerId)
+                .map(ReactiveReadRepository::account)
+                .all();
+    }
+
+    // closing balance of the last day with postings on or before the date, as DailyBalanceRepository.findLatestOnOrBefore
+    public Mono<Money> findClosingBalance(Long accountId, LocalDate date) {
+        return db.sql("select closing_balance from daily_balances where account_id = :accountId and date <= :date "
+                        + "order by date desc limit 1")
+                .bind("accountId", accountId)
+                .bind("date", date)
+                .map(row -> money(row, "closing_balance"))
+                .one();
+    }
+
+    public Flux<DayTotals> findDayTotals(Long accountId, LocalDate from, LocalDate to) {
+        return db.sql("select credit_total, debit_total, tx_count from daily_balances "
+                        + "where account_id = :accountId and date between :from and :to")
+                .bind("accountId", accountId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> new DayTotals(money(row, "credit_total").minorUnits(), money(row, "debit_total").minorUnits(),
+                        row.get("tx_count", Integer.class)))
+                .all();
+    }
+
+    // hot rows in (date, id) order; the caller puts the archived ones first
+    public Flux<TransactionView> findTransactions(Long accountId, String accountNumber, LocalDate from, LocalDate to) {
+        return db.sql("select id, date, type, amount, balance from transactions "
+                        + "where account_id = :accountId and date between :from and :to order by date, id")
+                .bind("accountId", accountId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> new TransactionView(row.get("id", Long.class), accountId, accountNumber,
+                        row.get("date", LocalDate.class), TransactionType.valueOf(row.get("type", String.class)),
+                        money(row, "amount"), money(row, "balance")))
+                .all();
+    }
+
+    private static Account account(Readable row) {
+        return Account.builder()
+                .id(row.get("id", Long.class))
+                .accountNumber(row.get("account_number", String.class))
+                .accountType(AccountType.valueOf(row.get("account_type", String.class)))
+                .initialBalance(money(row, "initial_balance"))
+                .status(row.get("status", Boolean.class))
+                .customerId(row.get("customer_id", String.class))
+                .build();
+    }
+
+    private static Money money(Readable row, String column) {
+        return Money.of(row.get(column, BigDecimal.class));
+    }
+
+    public record DayTotals(long credits, long debits, int count) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.accounts.reactive;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.TransactionDTO;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Non-blocking counterparts of AccountService.findByAccountNumber, TransactionService.findPage and
+// ReportService.getReport. Results are streamed: one transaction or one account report per element, pulled by
+// the subscriber, so at most one account's rows are held at a time. Archive segments are local files behind
+// the JPA catalog, so those lookups are moved to the bounded-elastic scheduler instead of the event loop.
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "accounts.reactive.enabled", havingValue = "true")
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository repository;
+    private final ArchiveStore archive;
+
+    public Mono<Account> findAccount(String accountNumber) {
+        return repository.findAccount(accountNumber)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Account not found")));
+    }
+
+    public Flux<TransactionView> streamTransactions(String accountNumber, LocalDate from, LocalDate to) {
+        return findAccount(accountNumber).flatMapMany(account -> transactions(account, from, to));
+    }
+
+    public Flux<AccountReportDTO> streamReport(LocalDate from, LocalDate to, String customerId) {
+        // concatMap keeps the account order of the blocking report and builds one account at a time
+        return repository.findAccountsByCustomer(customerId).concatMap(account -> report(account, from, to));
+    }
+
+    private Mono<AccountReportDTO> report(Account account, LocalDate from, LocalDate to) {
+        Mono<Money> closing = repository.findClosingBalance(account.getId(), to)
+                .defaultIfEmpty(account.getInitialBalance());
+        Mono<PeriodTotals> totals = repository.findDayTotals(account.getId(), from, to)
+                .reduceWith(PeriodTotals::new, PeriodTotals::add);
+        Mono<List<TransactionDTO>> transactions = transactions(account, from, to)
+                .map(TransactionDTO::fromView)
+                .collectList();
+
+        return Mono.zip(closing, totals, transactions).map(parts -> AccountReportDTO.builder()
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType().name())
+                .initialBalance(account.getInitialBalance())
+                .currentBalance(parts.getT1())
+                .totalCredits(Money.ofMinor(parts.getT2().credits))
+                .totalDebits(Money.ofMinor(parts.getT2().debits))
+                .transactionCount(parts.getT2().count)
+                .status(account.getStatus())
+                .transactions(parts.getT3())
+                .build());
+    }
+
+    // archived rows are older than every hot row of the same account, so they go first
+    private Flux<TransactionView> transactions(Account account, LocalDate from, LocalDate to) {
+        Flux<TransactionView> archived = Mono.fromCallable(() -> archive.findByAccountsAndDateBetween(
+                        Map.of(account.getId(), account.getAccountNumber()), from, to))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(rows -> rows.getOrDefault(account.getId(), List.of()));
+        return archived.concatWith(repository.findTransactions(account.getId(), account.getAccountNumber(), from, to));
+    }
+
+    private static final class PeriodTotals {
+        private long credits;
+        private long debits;
+        private int count;
+
+        PeriodTotals add(ReactiveReadRepository.DayTotals day) {
+            credits = Math.addExact(credits, day.credits());
+            debits = Math.addExact(debits, day.debits());
+            count += day.count();
+            return this;
+        }
+    }
+}
@@ -1,10 +1,29 @@
 package com.bank.accounts.repository;
 
+import com.bank.accounts.dto.AccountsVersion;
 import com.bank.accounts.model.Account;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    List<Account> findByCustomerIdOrderById(String customerId);
+
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select a.id from Account a order by a.id")
+    List<Long> findAllIds();
+
+    @Query("""
+            select new com.bank.accounts.dto.AccountsVersion(count(a), coalesce(sum(a.version), 0L))
+            from Account a
+            where a.customerId = :customerId
+            """)
+    AccountsVersion findVersionByCustomerId(@Param("customerId") String customerId);
 }
@@ -0,0 +1,28 @@
+package com.bank.accounts.repository;
+
+import com.bank.accounts.model.ArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, Long> {
+
+    @Query("""
+            select s from ArchiveSegment s
+            where s.accountId in :accountIds and s.periodEnd >= :from and s.periodStart <= :to
+            order by s.accountId, s.periodStart
+            """)
+    List<ArchiveSegment> findOverlapping(@Param("accountIds") Collection<Long> accountIds,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    boolean existsByAccountIdAndPeriodStart(Long accountId, LocalDate periodStart);
+
+    @Query("select max(s.periodEnd) from ArchiveSegment s where s.accountId = :accountId")
+    Optional<LocalDate> findArchivedThrough(@Param("accountId") Long accountId);
+}
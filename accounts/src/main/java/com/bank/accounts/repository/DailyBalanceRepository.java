@@ -0,0 +1,45 @@
+package com.bank.accounts.repository;
+
+import com.bank.accounts.model.DailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, Long> {
+    List<DailyBalance> findByAccountIdInAndDate(Collection<Long> accountIds, LocalDate date);
+
+    Optional<DailyBalance> findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc(Long accountId, LocalDate date);
+
+    Optional<DailyBalance> findFirstByAccountIdOrderByDateAsc(Long accountId);
+
+    List<DailyBalance> findByAccountIdOrderByDateAsc(Long accountId);
+
+    List<DailyBalance> findByAccountIdAndDateAfterOrderByDateAsc(Long accountId, LocalDate after);
+
+    List<DailyBalance> findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc(Collection<Long> accountIds,
+                                                                                 LocalDate from,
+                                                                                 LocalDate to);
+
+    @Query("""
+            select d from DailyBalance d
+            where d.accountId in :accountIds
+              and d.date = (select max(d2.date) from DailyBalance d2
+                             where d2.accountId = d.accountId and d2.date <= :date)
+            """)
+    List<DailyBalance> findLatestOnOrBefore(@Param("accountIds") Collection<Long> accountIds,
+                                            @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("delete from DailyBalance d where d.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from DailyBalance d where d.accountId = :accountId and d.date > :after")
+    void deleteByAccountIdAndDateAfter(@Param("accountId") Long accountId, @Param("after") LocalDate after);
+}
@@ -0,0 +1,33 @@
+package com.bank.accounts.repository;
+
+import com.bank.accounts.model.ReportJob;
+import com.bank.accounts.model.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    Optional<ReportJob> findFirstByRequestKeyAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+            String requestKey, ReportJobStatus status, Instant completedAfter);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ReportJob j set j.status = com.bank.accounts.model.ReportJobStatus.FAILED,
+                j.error = :error, j.completedAt = :now
+            where j.status in (com.bank.accounts.model.ReportJobStatus.PENDING,
+                               com.bank.accounts.model.ReportJobStatus.RUNNING)
+            """)
+    int failUnfinished(@Param("error") String error, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ReportJob j where j.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
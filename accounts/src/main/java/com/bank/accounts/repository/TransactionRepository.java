@@ -1,12 +1,102 @@
 package com.bank.accounts.repository;
 
+import com.bank.accounts.dto.TransactionView;
 import com.bank.accounts.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByAccount_AccountNumberAndDateBetween(String accountNumber, LocalDate from, LocalDate to);
+    @Query("""
+            select new com.bank.accounts.dto.TransactionView(t.id, a.id, a.accountNumber, t.date, t.type, t.amount, t.balance)
+            from Transaction t join t.account a
+            where a.id = :accountId
+              and t.date <= :to
+              and (t.date > :afterDate or (t.date = :afterDate and t.id > :afterId))
+            order by t.date, t.id
+            """)
+    List<TransactionView> findPageByAccountId(@Param("accountId") Long accountId,
+                                          @Param("afterDate") LocalDate afterDate,
+                                          @Param("afterId") Long afterId,
+                                          @Param("to") LocalDate to,
+                                          Limit limit);
 
+    @Query("""
+            select new com.bank.accounts.dto.TransactionView(t.id, a.id, a.accountNumber, t.date, t.type, t.amount, t.balance)
+            from Transaction t join t.account a
+            where a.id in :accountIds and t.date between :from and :to
+            order by a.id, t.id
+            """)
+    List<TransactionView> findByAccountIdsAndDateBetween(@Param("accountIds") Collection<Long> accountIds,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    // Forward-only cursor for exports; MySQL needs useCursorFetch=true for the fetch size to take effect.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.bank.accounts.dto.TransactionView(t.id, a.id, a.accountNumber, t.date, t.type, t.amount, t.balance)
+            from Transaction t join t.account a
+            where a.customerId = :customerId and t.date between :from and :to
+            order by a.id, t.id
+            """)
+    Stream<TransactionView> streamByCustomerIdAndDateBetween(@Param("customerId") String customerId,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Transaction t where t.account.id = :accountId order by t.date, t.id")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Transaction t where t.account.id = :accountId and t.date > :after order by t.date, t.id")
+    Stream<Transaction> streamByAccountIdAndDateAfter(@Param("accountId") Long accountId,
+                                                      @Param("after") LocalDate after);
+
+    // rows of one account in (date, id) order, as written to archive segments
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.bank.accounts.dto.TransactionView(t.id, a.id, a.accountNumber, t.date, t.type, t.amount, t.balance)
+            from Transaction t join t.account a
+            where a.id = :accountId and t.date between :from and :to
+            order by t.date, t.id
+            """)
+    Stream<TransactionView> streamByAccountIdAndDateBetween(@Param("accountId") Long accountId,
+                                                            @Param("from") LocalDate from,
+                                                            @Param("to") LocalDate to);
+
+    @Query("select min(t.date) from Transaction t where t.account.id = :accountId")
+    Optional<LocalDate> findFirstDateByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from Transaction t where t.account.id = :accountId and t.date between :from and :to")
+    int deleteByAccountIdAndDateBetween(@Param("accountId") Long accountId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    @Query("""
+            select new com.bank.accounts.dto.TransactionView(t.id, a.id, a.accountNumber, t.date, t.type, t.amount, t.balance)
+            from Transaction t join t.account a
+            where t.id = :id
+            """)
+    Optional<TransactionView> findViewById(@Param("id") Long id);
 }
@@ -0,0 +1,56 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.model.AccountSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class AccountCache {
+
+    private final Cache<String, AccountSnapshot> cache;
+
+    public AccountCache(@Value("${accounts.cache.max-size:100000}") long maxSize,
+                        @Value("${accounts.cache.ttl:PT10M}") Duration ttl,
+                        MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "accounts");
+    }
+
+    // Returns null when the loader finds nothing; misses are not cached. The loader runs outside the
+    // cache's compute lock: it does JDBC I/O, which would pin a virtual thread inside that monitor.
+    public AccountSnapshot get(String accountNumber, Function<String, AccountSnapshot> loader) {
+        AccountSnapshot cached = cache.getIfPresent(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+        AccountSnapshot loaded = loader.apply(accountNumber);
+        if (loaded != null) {
+            cache.put(accountNumber, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(AccountSnapshot snapshot) {
+        cache.put(snapshot.accountNumber(), snapshot);
+    }
+
+    public void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -1,9 +1,14 @@
 package com.bank.accounts.service;
 
+import com.bank.accounts.dto.CursorPage;
 import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.listener.CustomerDirectory;
 import com.bank.accounts.model.Account;
+import com.bank.accounts.model.AccountSnapshot;
 import com.bank.accounts.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,19 +20,54 @@ import java.util.UUID;
 public class AccountService {
 
     private final AccountRepository repository;
+    private final AccountCache cache;
+    private final ReportCache reportCache;
+    private final CustomerDirectory customers;
 
+    @Value("${accounts.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${accounts.customers.verify-on-create:true}")
+    private boolean verifyCustomer = true;
+
+    // Answered in memory with no remote call: an id the directory's Bloom filter has never seen is rejected without
+    // a lock or a table probe, and any other id is confirmed against the table, which also says whether it is active.
     @Transactional
     public Account create(Account account) {
+        String customerId = account.getCustomerId();
+        if (verifyCustomer && !customers.isActive(customerId)) {
+            throw new IllegalArgumentException(
+                    (customers.exists(customerId) ? "Inactive customer: " : "Unknown customer: ") + customerId);
+        }
         account.setAccountNumber(UUID.randomUUID().toString());
-        return repository.save(account);
+        Account saved = repository.save(account);
+        cache.put(AccountSnapshot.of(saved));
+        reportCache.invalidateCustomer(saved.getCustomerId());
+        return saved;
     }
 
-    public List<Account> findAll() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Account> findPage(String cursor, Integer limit) {
+        int size = CursorPage.pageSize(limit, maxPageSize);
+        long afterId = cursor != null ? Long.parseLong(CursorPage.decode(cursor)) : 0L;
+        List<Account> rows = repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return CursorPage.of(rows, size, account -> account.getId().toString());
     }
 
+    // The balance is always read from the database; only the number -> id mapping comes from the cache.
+    @Transactional(readOnly = true)
     public Account findByAccountNumber(String accountNumber) {
-        return repository.findByAccountNumber(accountNumber)
+        return repository.findById(findSnapshot(accountNumber).id())
                 .orElseThrow(() -> new NotFoundException("Account not found"));
     }
+
+    public AccountSnapshot findSnapshot(String accountNumber) {
+        AccountSnapshot snapshot = cache.get(accountNumber, number -> repository.findByAccountNumber(number)
+                .map(AccountSnapshot::of)
+                .orElse(null));
+        if (snapshot == null) {
+            throw new NotFoundException("Account not found");
+        }
+        return snapshot;
+    }
 }
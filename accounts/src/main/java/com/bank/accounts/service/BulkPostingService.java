@@ -0,0 +1,135 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.PostingRequest;
+import com.bank.accounts.dto.PostingResultDTO;
+import com.bank.accounts.exception.PostingTimeoutException;
+import com.bank.accounts.model.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+// Streams postings from a JSON array or NDJSON body into the posting lanes and writes one NDJSON
+// result per posting, in input order. At most max-in-flight postings are pending at any time.
+@Slf4j
+@Service
+public class BulkPostingService {
+
+    static final String POSTED = "POSTED";
+    static final String REJECTED = "REJECTED";
+    static final String INVALID = "INVALID";
+    static final String UNKNOWN = "UNKNOWN";
+
+    private final PostingEngine postingEngine;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final int maxInFlight;
+
+    public BulkPostingService(PostingEngine postingEngine,
+                              ObjectMapper objectMapper,
+                              @Value("${accounts.posting.bulk.max-in-flight:2048}") int maxInFlight) {
+        this.postingEngine = postingEngine;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(PostingResultDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxInFlight = maxInFlight;
+    }
+
+    public void ingest(InputStream in, OutputStream out) throws IOException {
+        Deque<Pending> window = new ArrayDeque<>(maxInFlight);
+        long index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            // an iterator over a caller-supplied parser does not unwrap a top-level array by itself: step onto
+            // the first element so it stops at the closing bracket; NDJSON is read as a sequence of root values
+            if (parser.nextToken() == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.END_ARRAY) {
+                return;
+            }
+            try (MappingIterator<PostingRequest> requests = objectMapper.readerFor(PostingRequest.class)
+                    .readValues(parser)) {
+                while (requests.hasNextValue()) {
+                    // read before the index moves, so a malformed item is reported under its own position
+                    PostingRequest request = requests.nextValue();
+                    window.addLast(submit(index++, request));
+                    if (window.size() >= maxInFlight) {
+                        write(generator, window.removeFirst());
+                    }
+                }
+            } catch (JsonProcessingException ex) {
+                log.warn("Stopped bulk ingestion at item {}: {}", index, ex.getOriginalMessage());
+                window.addLast(new Pending(index, null, "Malformed posting: " + ex.getOriginalMessage()));
+            }
+
+            while (!window.isEmpty()) {
+                write(generator, window.removeFirst());
+            }
+        }
+    }
+
+    private Pending submit(long index, PostingRequest request) {
+        if (request.getAccountNumber() == null || request.getType() == null || request.getAmount() == null) {
+            return new Pending(index, null, "accountNumber, type and amount are required");
+        }
+        try {
+            return new Pending(index,
+                    postingEngine.submit(request.getAccountNumber(), request.getType(), request.getAmount()),
+                    null);
+        } catch (RuntimeException ex) {
+            return new Pending(index, CompletableFuture.failedFuture(ex), null);
+        }
+    }
+
+    private void write(JsonGenerator generator, Pending pending) throws IOException {
+        resultWriter.writeValue(generator, toResult(pending));
+        generator.writeRaw('\n');
+    }
+
+    private PostingResultDTO toResult(Pending pending) {
+        if (pending.future() == null) {
+            return PostingResultDTO.builder().index(pending.index()).status(INVALID).message(pending.invalid()).build();
+        }
+        try {
+            Transaction tx = postingEngine.await(pending.future());
+            return PostingResultDTO.builder()
+                    .index(pending.index())
+                    .status(POSTED)
+                    .transactionId(tx.getId())
+                    .balance(tx.getBalance())
+                    .build();
+        } catch (PostingTimeoutException ex) {
+            // not a rejection: the posting is still queued and may commit after this line is written
+            return PostingResultDTO.builder()
+                    .index(pending.index())
+                    .status(UNKNOWN)
+                    .message(ex.getMessage())
+                    .build();
+        } catch (RuntimeException ex) {
+            return PostingResultDTO.builder()
+                    .index(pending.index())
+                    .status(REJECTED)
+                    .message(ex.getMessage())
+                    .build();
+        }
+    }
+
+    private record Pending(long index, CompletableFuture<Transaction> future, String invalid) {
+    }
+}
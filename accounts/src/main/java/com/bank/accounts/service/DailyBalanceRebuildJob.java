@@ -0,0 +1,33 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyBalanceRebuildJob {
+
+    private final AccountRepository accountRepo;
+    private final DailyBalanceService dailyBalances;
+    private final PostingEngine postingEngine;
+
+    // The check runs beside the lanes; only an account that looks drifted holds up its lane, for the repair.
+    @Scheduled(cron = "${accounts.daily-balances.verify-cron:0 30 2 * * *}")
+    public void verifyAll() {
+        List<Long> accountIds = accountRepo.findAllIds();
+        int drifted = 0;
+        for (Long accountId : accountIds) {
+            if (!dailyBalances.verify(accountId)
+                    && !postingEngine.withLane(accountId, () -> dailyBalances.repair(accountId))) {
+                drifted++;
+            }
+        }
+        log.info("Verified daily balances for {} accounts, {} drifted", accountIds.size(), drifted);
+    }
+}
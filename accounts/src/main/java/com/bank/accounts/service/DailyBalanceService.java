@@ -0,0 +1,162 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.DailyBalance;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.repository.DailyBalanceRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyBalanceService {
+
+    private final DailyBalanceRepository repository;
+    private final TransactionRepository txRepo;
+    private final EntityManager entityManager;
+    private final ArchiveStore archive;
+
+    @Value("${accounts.daily-balances.repair:true}")
+    private boolean repair;
+
+    public void recordAll(List<Transaction> txs) {
+        Map<LocalDate, List<Transaction>> byDate = txs.stream()
+                .collect(Collectors.groupingBy(Transaction::getDate, LinkedHashMap::new, Collectors.toList()));
+
+        List<DailyBalance> changed = new ArrayList<>();
+        byDate.forEach((date, dayTxs) -> {
+            Set<Long> accountIds = dayTxs.stream().map(tx -> tx.getAccount().getId()).collect(Collectors.toSet());
+            Map<Long, DailyBalance> rows = repository.findByAccountIdInAndDate(accountIds, date).stream()
+                    .collect(Collectors.toMap(DailyBalance::getAccountId, Function.identity()));
+            for (Transaction tx : dayTxs) {
+                apply(rows.computeIfAbsent(tx.getAccount().getId(), id -> open(id, tx)), tx);
+            }
+            changed.addAll(rows.values());
+        });
+        repository.saveAll(changed);
+    }
+
+    @Transactional(readOnly = true)
+    public Money balanceAsOf(Account account, LocalDate date) {
+        return repository.findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc(account.getId(), date)
+                .map(DailyBalance::getClosingBalance)
+                .orElseGet(() -> repository.findFirstByAccountIdOrderByDateAsc(account.getId())
+                        .map(DailyBalance::getOpeningBalance)
+                        .orElse(account.getInitialBalance()));
+    }
+
+    // Days covered by archive segments are closed and their transactions are no longer in the table, so only
+    // the days after the archived periods are checked. Safe beside the posting lanes, but a batch committed while
+    // the rows are read can look like drift; repair settles it.
+    @Transactional(readOnly = true)
+    public boolean verify(Long accountId) {
+        Optional<LocalDate> archivedThrough = archive.archivedThrough(accountId);
+        return sameRows(recompute(accountId, archivedThrough), stored(accountId, archivedThrough));
+    }
+
+    // Checks again and rewrites the rows if they still differ. Must run under the account's posting lane
+    // (PostingEngine.withLane): rows deleted and reinserted beside a batch would lose or double its postings.
+    @Transactional
+    public boolean repair(Long accountId) {
+        Optional<LocalDate> archivedThrough = archive.archivedThrough(accountId);
+        List<DailyBalance> expected = recompute(accountId, archivedThrough);
+        List<DailyBalance> actual = stored(accountId, archivedThrough);
+        if (sameRows(expected, actual)) {
+            return true;
+        }
+
+        log.warn("Daily balances for account {} drifted from transactions ({} stored, {} expected)",
+                accountId, actual.size(), expected.size());
+        if (repair) {
+            archivedThrough.ifPresentOrElse(
+                    after -> repository.deleteByAccountIdAndDateAfter(accountId, after),
+                    () -> repository.deleteByAccountId(accountId));
+            repository.saveAll(expected);
+        }
+        return false;
+    }
+
+    private List<DailyBalance> stored(Long accountId, Optional<LocalDate> archivedThrough) {
+        return archivedThrough
+                .map(after -> repository.findByAccountIdAndDateAfterOrderByDateAsc(accountId, after))
+                .orElseGet(() -> repository.findByAccountIdOrderByDateAsc(accountId));
+    }
+
+    private List<DailyBalance> recompute(Long accountId, Optional<LocalDate> archivedThrough) {
+        List<DailyBalance> days = new ArrayList<>();
+        DailyBalance current = null;
+        try (Stream<Transaction> rows = archivedThrough
+                .map(after -> txRepo.streamByAccountIdAndDateAfter(accountId, after))
+                .orElseGet(() -> txRepo.streamByAccountId(accountId))) {
+            Iterator<Transaction> it = rows.iterator();
+            while (it.hasNext()) {
+                Transaction tx = it.next();
+                if (current == null || !current.getDate().equals(tx.getDate())) {
+                    current = open(accountId, tx);
+                    days.add(current);
+                }
+                apply(current, tx);
+                entityManager.detach(tx);
+            }
+        }
+        return days;
+    }
+
+    private static DailyBalance open(Long accountId, Transaction tx) {
+        // amount is signed, so the balance before the first posting of the day is balance - amount
+        Money opening = tx.getBalance().minus(tx.getAmount());
+        return DailyBalance.builder()
+                .accountId(accountId)
+                .date(tx.getDate())
+                .openingBalance(opening)
+                .closingBalance(opening)
+                .debitTotal(Money.ZERO)
+                .creditTotal(Money.ZERO)
+                .txCount(0)
+                .build();
+    }
+
+    private static void apply(DailyBalance day, Transaction tx) {
+        if (tx.getType() == TransactionType.WITHDRAWAL) {
+            day.setDebitTotal(day.getDebitTotal().plus(tx.getAmount().abs()));
+        } else {
+            day.setCreditTotal(day.getCreditTotal().plus(tx.getAmount().abs()));
+        }
+        day.setClosingBalance(tx.getBalance());
+        day.setTxCount(day.getTxCount() + 1);
+    }
+
+    private static boolean sameRows(List<DailyBalance> expected, List<DailyBalance> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            DailyBalance e = expected.get(i);
+            DailyBalance a = actual.get(i);
+            if (!e.getDate().equals(a.getDate())
+                    || !e.getOpeningBalance().equals(a.getOpeningBalance())
+                    || !e.getClosingBalance().equals(a.getClosingBalance())
+                    || !e.getDebitTotal().equals(a.getDebitTotal())
+                    || !e.getCreditTotal().equals(a.getCreditTotal())
+                    || !Objects.equals(e.getTxCount(), a.getTxCount())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,197 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.exception.IdempotencyConflictException;
+import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.repository.IdempotencyRecordRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Remembers the outcome of POST /transactions per Idempotency-Key. Entries live in a bounded,
+// insertion-ordered map evicted by size and age; with persistence enabled the key is also written
+// in the same commit as the posting so replays survive a restart. An entry follows the posting, not the
+// request: it stays while the posting is queued, so a retry after a timeout waits for that same posting,
+// and neither eviction touches it until the posting has an outcome.
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepo;
+    private final TransactionRepository txRepo;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final Map<String, Entry> entries;
+    // a ReentrantLock rather than synchronized so virtual threads never pin their carrier here
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public IdempotencyStore(IdempotencyRecordRepository recordRepo,
+                            TransactionRepository txRepo,
+                            @Value("${accounts.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${accounts.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${accounts.idempotency.persistent:false}") boolean persistent) {
+        this(recordRepo, txRepo, Clock.systemUTC(), maxEntries, ttl, persistent);
+    }
+
+    IdempotencyStore(IdempotencyRecordRepository recordRepo, TransactionRepository txRepo, Clock clock,
+                     int maxEntries, Duration ttl, boolean persistent) {
+        this.recordRepo = recordRepo;
+        this.txRepo = txRepo;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    static String fingerprint(String accountNumber, TransactionType type, Money amount) {
+        return accountNumber + '|' + type + '|' + amount;
+    }
+
+    // action queues the posting and receives the key to store alongside it, or null when persistence is disabled.
+    // The returned future is shared by every request with the key; callers bound their own wait on it.
+    public CompletableFuture<TransactionView> execute(String key, String accountNumber, TransactionType type,
+                                                      Money amount,
+                                                      Function<String, CompletableFuture<TransactionView>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(accountNumber, type, amount);
+        Instant now = clock.instant();
+        Entry mine = new Entry(fingerprint, now, new CompletableFuture<>());
+        Entry existing;
+        lock.lock();
+        try {
+            evictExpired(now);
+            existing = entries.putIfAbsent(key, mine);
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+        if (existing != null) {
+            return replay(key, fingerprint, existing);
+        }
+
+        CompletableFuture<TransactionView> posting;
+        try {
+            TransactionView persisted = persistent ? findPersisted(key, fingerprint).orElse(null) : null;
+            posting = persisted != null
+                    ? CompletableFuture.completedFuture(persisted)
+                    : action.apply(persistent ? key : null);
+        } catch (RuntimeException ex) {
+            // nothing was queued (invalid request, unknown account, full lane), so a retry may run it again
+            release(key, mine, ex);
+            throw ex;
+        }
+        posting.whenComplete((tx, ex) -> {
+            if (ex == null) {
+                mine.result().complete(tx);
+            } else {
+                // a queued posting only fails when it was rejected or its batch rolled back: nothing was written
+                release(key, mine, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+        });
+        return mine.result();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.idempotency.cleanup-interval:PT10M}")
+    public void cleanup() {
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            evictExpired(now);
+        } finally {
+            lock.unlock();
+        }
+        if (persistent) {
+            int removed = recordRepo.deleteOlderThan(now.minus(ttl));
+            log.debug("Removed {} expired idempotency keys", removed);
+        }
+    }
+
+    private CompletableFuture<TransactionView> replay(String key, String fingerprint, Entry existing) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException("Idempotency-Key " + key + " was used for a different request");
+        }
+        return existing.result();
+    }
+
+    private void release(String key, Entry mine, Throwable failure) {
+        lock.lock();
+        try {
+            entries.remove(key, mine);
+        } finally {
+            lock.unlock();
+        }
+        mine.result().completeExceptionally(failure);
+    }
+
+    private Optional<TransactionView> findPersisted(String key, String fingerprint) {
+        return recordRepo.findById(key).map(record -> {
+            if (!record.getFingerprint().equals(fingerprint)) {
+                throw new IdempotencyConflictException("Idempotency-Key " + key + " was used for a different request");
+            }
+            return txRepo.findViewById(record.getTransactionId())
+                    .orElseThrow(() -> new NotFoundException("Transaction not found"));
+        });
+    }
+
+    private void evictExpired(Instant now) {
+        Instant cutoff = now.minus(ttl);
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (!entry.createdAt().isBefore(cutoff)) {
+                return;
+            }
+            if (entry.result().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    // Oldest settled entries go first; in-flight ones are skipped, so the map may briefly hold more than
+    // max-entries while the lanes are backed up.
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().result().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Entry(String fingerprint, Instant createdAt, CompletableFuture<TransactionView> result) {
+    }
+}
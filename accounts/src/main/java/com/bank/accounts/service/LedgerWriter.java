@@ -0,0 +1,182 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.exception.IdempotencyConflictException;
+import com.bank.accounts.exception.InsufficientBalanceException;
+import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.AccountSnapshot;
+import com.bank.accounts.model.IdempotencyRecord;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.IdempotencyRecordRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class LedgerWriter {
+
+    private final AccountRepository accountRepo;
+    private final TransactionRepository txRepo;
+    private final DailyBalanceService dailyBalances;
+    private final IdempotencyRecordRepository idempotencyRepo;
+    private final AccountCache accountCache;
+    private final Counter insufficientBalance;
+
+    public LedgerWriter(AccountRepository accountRepo,
+                        TransactionRepository txRepo,
+                        DailyBalanceService dailyBalances,
+                        IdempotencyRecordRepository idempotencyRepo,
+                        AccountCache accountCache,
+                        MeterRegistry registry) {
+        this.accountRepo = accountRepo;
+        this.txRepo = txRepo;
+        this.dailyBalances = dailyBalances;
+        this.idempotencyRepo = idempotencyRepo;
+        this.accountCache = accountCache;
+        this.insufficientBalance = Counter.builder("accounts.postings.insufficient-balance")
+                .description("Withdrawals rejected because the balance was too low")
+                .register(registry);
+    }
+
+    // Applies a batch of postings against running balances and commits them together.
+    // Each slot of the returned list holds either the saved Transaction or the rejection for that posting.
+    @Transactional
+    public List<Object> write(List<PendingPosting> batch) {
+        // balances are read here, inside the flush transaction, never from the account cache
+        Set<Long> ids = batch.stream().map(PendingPosting::accountId).collect(Collectors.toSet());
+        Map<Long, Account> accounts = accountRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        // a key another instance (or an earlier run) already committed resolves to its transaction instead of
+        // failing the whole batch on the duplicate insert
+        Set<String> keys = batch.stream().map(PendingPosting::idempotencyKey).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, IdempotencyRecord> recorded = keys.isEmpty() ? Map.of() : idempotencyRepo.findAllById(keys)
+                .stream().collect(Collectors.toMap(IdempotencyRecord::getIdempotencyKey, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        List<Object> outcomes = new ArrayList<>(batch.size());
+        List<Transaction> txs = new ArrayList<>(batch.size());
+        Map<Long, Account> touched = new LinkedHashMap<>();
+        Map<PendingPosting, Transaction> keyed = new LinkedHashMap<>();
+        Map<String, PendingPosting> keyedInBatch = new HashMap<>();
+
+        for (PendingPosting posting : batch) {
+            if (posting.idempotencyKey() != null) {
+                PendingPosting earlier = keyedInBatch.get(posting.idempotencyKey());
+                Object replayed = replay(posting, recorded.get(posting.idempotencyKey()),
+                        earlier, earlier != null ? keyed.get(earlier) : null);
+                if (replayed != null) {
+                    outcomes.add(replayed);
+                    continue;
+                }
+            }
+            Account account = accounts.get(posting.accountId());
+            if (account == null) {
+                accountCache.invalidate(posting.accountNumber());
+                outcomes.add(new NotFoundException("Account not found"));
+                continue;
+            }
+
+            Money balance = account.getInitialBalance();
+            Money newBalance;
+            try {
+                newBalance = applyPosting(balance, posting.type(), posting.amount());
+            } catch (InsufficientBalanceException ex) {
+                insufficientBalance.increment();
+                outcomes.add(ex);
+                continue;
+            } catch (RuntimeException ex) {
+                outcomes.add(ex);
+                continue;
+            }
+
+            account.setInitialBalance(newBalance);
+            Transaction tx = Transaction.builder()
+                    .date(today)
+                    .type(posting.type())
+                    // signed amount: negative for withdrawals
+                    .amount(newBalance.minus(balance))
+                    .balance(newBalance)
+                    .account(account)
+                    .build();
+            txs.add(tx);
+            touched.put(account.getId(), account);
+            if (posting.idempotencyKey() != null) {
+                keyed.put(posting, tx);
+                keyedInBatch.put(posting.idempotencyKey(), posting);
+            }
+            outcomes.add(tx);
+        }
+
+        accounts.values().forEach(account -> accountCache.put(AccountSnapshot.of(account)));
+
+        if (!txs.isEmpty()) {
+            txRepo.saveAll(txs);
+            accountRepo.saveAll(touched.values());
+            dailyBalances.recordAll(txs);
+        }
+        if (!keyed.isEmpty()) {
+            Instant now = Instant.now();
+            idempotencyRepo.saveAll(keyed.entrySet().stream()
+                    .map(e -> IdempotencyRecord.builder()
+                            .idempotencyKey(e.getKey().idempotencyKey())
+                            .fingerprint(fingerprint(e.getKey()))
+                            .transactionId(e.getValue().getId())
+                            .createdAt(now)
+                            .build())
+                    .toList());
+        }
+        return outcomes;
+    }
+
+    // The earlier transaction for the posting's key, a conflict if the key was used for another request, or null
+    private Object replay(PendingPosting posting, IdempotencyRecord record, PendingPosting earlier,
+                          Transaction earlierTx) {
+        String fingerprint = fingerprint(posting);
+        if (record != null) {
+            if (!record.getFingerprint().equals(fingerprint)) {
+                return conflict(posting);
+            }
+            return txRepo.findById(record.getTransactionId())
+                    .<Object>map(Function.identity())
+                    .orElseGet(() -> new NotFoundException("Transaction not found"));
+        }
+        if (earlier != null) {
+            return fingerprint(earlier).equals(fingerprint) ? earlierTx : conflict(posting);
+        }
+        return null;
+    }
+
+    private static String fingerprint(PendingPosting posting) {
+        return IdempotencyStore.fingerprint(posting.accountNumber(), posting.type(), posting.amount());
+    }
+
+    private static IdempotencyConflictException conflict(PendingPosting posting) {
+        return new IdempotencyConflictException(
+                "Idempotency-Key " + posting.idempotencyKey() + " was used for a different request");
+    }
+
+    static Money applyPosting(Money balance, TransactionType type, Money amount) {
+        Money value = amount.abs();
+        return switch (type) {
+            case DEPOSIT -> balance.plus(value);
+            case WITHDRAWAL -> {
+                if (balance.isLessThan(value))
+                    throw new InsufficientBalanceException();
+                yield balance.minus(value);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+
+import java.util.concurrent.CompletableFuture;
+
+record PendingPosting(String idempotencyKey,
+                      Long accountId,
+                      String accountNumber,
+                      TransactionType type,
+                      Money amount,
+                      CompletableFuture<Transaction> result) {
+
+    PendingPosting(String idempotencyKey, Long accountId, String accountNumber, TransactionType type,
+                   Money amount) {
+        this(idempotencyKey, accountId, accountNumber, type, amount, new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,206 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.exception.PostingTimeoutException;
+import com.bank.accounts.exception.ServiceBusyException;
+import com.bank.accounts.model.AccountSnapshot;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Routes every posting for an account to the same single-writer lane, so balance updates for that
+// account are applied serially in memory and committed in groups instead of one commit per posting.
+@Slf4j
+@Component
+public class PostingEngine {
+
+    private final LedgerWriter writer;
+    private final AccountService accounts;
+    private final ReportCache reportCache;
+    private final int maxBatch;
+    private final long offerTimeoutMs;
+    private final long resultTimeoutMs;
+    private final List<BlockingQueue<PendingPosting>> lanes = new ArrayList<>();
+    // held by a lane while it writes a batch, and by withLane
+    private final List<ReentrantLock> laneLocks = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public PostingEngine(LedgerWriter writer,
+                         AccountService accounts,
+                         ReportCache reportCache,
+                         @Value("${accounts.posting.lanes:8}") int laneCount,
+                         @Value("${accounts.posting.max-batch:256}") int maxBatch,
+                         @Value("${accounts.posting.queue-capacity:10000}") int queueCapacity,
+                         @Value("${accounts.posting.offer-timeout-ms:1000}") long offerTimeoutMs,
+                         @Value("${accounts.posting.result-timeout-ms:30000}") long resultTimeoutMs) {
+        this.writer = writer;
+        this.accounts = accounts;
+        this.reportCache = reportCache;
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.resultTimeoutMs = resultTimeoutMs;
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayBlockingQueue<>(queueCapacity));
+            laneLocks.add(new ReentrantLock());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < lanes.size(); i++) {
+            int index = i;
+            // Lanes stay on platform threads even in virtual-thread mode: they are few, long-lived and busy.
+            Thread worker = new Thread(() -> drain(index), "posting-lane-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        workers.clear();
+    }
+
+    public Transaction post(String idempotencyKey, String accountNumber, TransactionType type, Money amount) {
+        return await(submit(idempotencyKey, accountNumber, type, amount));
+    }
+
+    // The wait is bounded so a stuck lane turns into 503s instead of request threads parked forever. A timeout
+    // says nothing about the outcome: the posting stays queued and may still commit afterwards. Only a request
+    // with an Idempotency-Key can learn it, by retrying (see TransactionService.register).
+    public <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Posting failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new PostingTimeoutException("Timed out waiting for the posting to commit; it may still commit");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the posting");
+        }
+    }
+
+    public CompletableFuture<Transaction> submit(String accountNumber, TransactionType type, Money amount) {
+        return submit(null, accountNumber, type, amount);
+    }
+
+    public CompletableFuture<Transaction> submit(String idempotencyKey, String accountNumber,
+                                                 TransactionType type, Money amount) {
+        if (!running) {
+            throw new ServiceBusyException("Posting engine is not running");
+        }
+        // unknown accounts are rejected here, before they take a slot in a lane
+        AccountSnapshot account = accounts.findSnapshot(accountNumber);
+        PendingPosting posting = new PendingPosting(idempotencyKey, account.id(), accountNumber, type, amount);
+        try {
+            if (!lanes.get(laneOf(account.id())).offer(posting, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Posting queue is full");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while queueing posting");
+        }
+        return posting.result();
+    }
+
+    // Runs work between two batches of the account's lane, so it never interleaves with a write to the account's
+    // rows. The lane waits meanwhile; keep the work short.
+    public <T> T withLane(Long accountId, Supplier<T> work) {
+        ReentrantLock lock = laneLocks.get(laneOf(accountId));
+        lock.lock();
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int laneOf(Long accountId) {
+        return Math.floorMod(accountId.hashCode(), lanes.size());
+    }
+
+    private void drain(int index) {
+        BlockingQueue<PendingPosting> lane = lanes.get(index);
+        ReentrantLock lock = laneLocks.get(index);
+        List<PendingPosting> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(lane.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            lane.drainTo(batch, maxBatch - 1);
+            flush(batch, lock);
+            batch.clear();
+        }
+
+        // finish whatever was accepted before shutdown
+        while (lane.drainTo(batch, maxBatch) > 0) {
+            flush(batch, lock);
+            batch.clear();
+        }
+    }
+
+    // Catches Throwable: an Error escaping here would end the lane thread and leave every later posting
+    // on the lane queued forever. Futures already completed ignore the completeExceptionally.
+    private void flush(List<PendingPosting> batch, ReentrantLock lock) {
+        try {
+            List<Object> outcomes;
+            lock.lock();
+            try {
+                outcomes = writer.write(batch);
+            } finally {
+                lock.unlock();
+            }
+            complete(batch, outcomes);
+        } catch (Throwable ex) {
+            log.error("Failed to commit a batch of {} postings", batch.size(), ex);
+            batch.forEach(posting -> posting.result().completeExceptionally(ex));
+        }
+    }
+
+    private void complete(List<PendingPosting> batch, List<Object> outcomes) {
+        // evicted after the commit and before callers are released; the next fill of those reports reads the
+        // primary, so callers see their own postings even while the replica catches up
+        Set<String> customers = new HashSet<>();
+        for (Object outcome : outcomes) {
+            if (outcome instanceof Transaction tx) {
+                customers.add(tx.getAccount().getCustomerId());
+            }
+        }
+        customers.forEach(reportCache::invalidateCustomer);
+
+        for (int i = 0; i < batch.size(); i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Transaction tx) {
+                batch.get(i).result().complete(tx);
+            } else {
+                batch.get(i).result().completeExceptionally((Throwable) outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.AccountsVersion;
+import com.bank.accounts.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Caches whole reports per (customer, from, to). Every report carries the account's live balance, so even a
+// closed period changes with each posting: the posting engine evicts all of the customer's reports, and the
+// first fill after that reads the primary, which the replica may still be behind. The ETag the report is
+// served under is part of the key, so a request whose validator has moved on misses instead of getting the body
+// cached for the old one.
+@Component
+public class ReportCache {
+
+    private static final int STRIPES = 1024;
+
+    private final ReportService reports;
+    private final AccountRepository accounts;
+    private final Clock clock;
+    private final Cache<Key, List<AccountReportDTO>> cache;
+    private final Map<String, Set<Key>> keysByCustomer = new ConcurrentHashMap<>();
+    // bumped on every invalidation so a report computed concurrently with a posting is not cached
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    // when each stripe was last invalidated; fills within primaryReadWindow of it skip the replica
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+    private final long primaryReadWindowMillis;
+
+    @Autowired
+    public ReportCache(ReportService reports,
+                       AccountRepository accounts,
+                       @Value("${accounts.reports.cache.max-rows:1000000}") long maxRows,
+                       @Value("${accounts.reports.cache.open-ttl:PT10M}") Duration openTtl,
+                       @Value("${accounts.reports.cache.primary-read-window:PT15S}") Duration primaryReadWindow,
+                       MeterRegistry registry) {
+        this(reports, accounts, maxRows, openTtl, primaryReadWindow, registry, Clock.systemDefaultZone());
+    }
+
+    ReportCache(ReportService reports, AccountRepository accounts, long maxRows, Duration openTtl,
+                Duration primaryReadWindow, MeterRegistry registry, Clock clock) {
+        this.reports = reports;
+        this.accounts = accounts;
+        this.clock = clock;
+        this.primaryReadWindowMillis = primaryReadWindow.toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher(ReportCache::weigh)
+                .expireAfter(new PeriodExpiry(openTtl.toNanos()))
+                // runs inside the eviction, so the index never drops a key the cache still holds
+                .evictionListener((Key key, List<AccountReportDTO> value, RemovalCause cause) -> {
+                    if (key != null) {
+                        unindex(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "reports");
+        Gauge.builder("accounts.reports.cache.hit-ratio", cache, c -> c.stats().hitRate())
+                .register(registry);
+    }
+
+    // The same for every period: each report carries the live balances, so a posting changes closed periods too.
+    public String eTag(String customerId) {
+        AccountsVersion version = accounts.findVersionByCustomerId(customerId);
+        return "W/\"" + version.accounts() + "-" + version.versions() + "\"";
+    }
+
+    // The report is built outside the cache's compute lock, like AccountCache: it does JDBC I/O.
+    public List<AccountReportDTO> getReport(LocalDate from, LocalDate to, String customerId, String eTag) {
+        Key key = new Key(customerId, from, to, eTag);
+        List<AccountReportDTO> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(customerId);
+        long generation = generations.get(stripe);
+        // right after an eviction the replica may not have the posting yet, and a body read there would stay
+        // cached until the next eviction
+        List<AccountReportDTO> report = clock.millis() - invalidatedAt.get(stripe) < primaryReadWindowMillis
+                ? reports.getReportFromPrimary(from, to, customerId)
+                : reports.getReport(from, to, customerId);
+
+        // indexed before the put so a concurrent invalidation can always find the entry
+        index(key);
+        if (generations.get(stripe) != generation) {
+            unindex(key);
+            return report;
+        }
+        cache.put(key, report);
+        if (generations.get(stripe) != generation) {
+            evict(key);
+        }
+        return report;
+    }
+
+    // A posting or a new account changes every report of its customer, whatever the period.
+    public void invalidateCustomer(String customerId) {
+        int stripe = stripe(customerId);
+        invalidatedAt.set(stripe, clock.millis());
+        generations.incrementAndGet(stripe);
+        Set<Key> keys = keysByCustomer.get(customerId);
+        if (keys != null) {
+            keys.forEach(this::evict);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    long size() {
+        return cache.estimatedSize();
+    }
+
+    private void evict(Key key) {
+        cache.invalidate(key);
+        unindex(key);
+    }
+
+    private void index(Key key) {
+        keysByCustomer.compute(key.customerId(), (customer, keys) -> {
+            Set<Key> set = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            set.add(key);
+            return set;
+        });
+    }
+
+    private void unindex(Key key) {
+        keysByCustomer.computeIfPresent(key.customerId(), (customer, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static int stripe(String customerId) {
+        return Math.floorMod(customerId.hashCode(), STRIPES);
+    }
+
+    // weight is roughly the number of rows held, so one multi-year report counts for what it costs
+    private static int weigh(Key key, List<AccountReportDTO> report) {
+        long rows = 1;
+        for (AccountReportDTO account : report) {
+            rows += 1 + (account.getTransactions() != null ? account.getTransactions().size() : 0);
+        }
+        return (int) Math.min(rows, Integer.MAX_VALUE);
+    }
+
+    record Key(String customerId, LocalDate from, LocalDate to, String eTag) {
+    }
+
+    // Closed periods only leave on eviction or by size; the TTL on open ones bounds staleness if an eviction is
+    // missed.
+    private final class PeriodExpiry implements Expiry<Key, List<AccountReportDTO>> {
+
+        private final long openTtlNanos;
+
+        PeriodExpiry(long openTtlNanos) {
+            this.openTtlNanos = openTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, List<AccountReportDTO> value, long currentTime) {
+            return key.to().isBefore(LocalDate.now(clock)) ? Long.MAX_VALUE : openTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, List<AccountReportDTO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, List<AccountReportDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
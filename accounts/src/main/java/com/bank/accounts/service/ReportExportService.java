@@ -0,0 +1,144 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.ArchiveSegment;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    private final AccountRepository accountRepo;
+    private final TransactionRepository txRepo;
+    private final ArchiveStore archive;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(LocalDate from, LocalDate to, String customerId, ExportFormat format, OutputStream out)
+            throws IOException {
+        Map<Long, String> accountNumbers = accountRepo.findByCustomerIdOrderById(customerId).stream()
+                .collect(Collectors.toMap(Account::getId, Account::getAccountNumber));
+        // hot rows arrive ordered by account; each account's archived rows are written just before its hot rows.
+        // Only the catalog entries are held up front: segments are read one at a time as the walk reaches them.
+        Deque<ArchiveSegment> archived = accountNumbers.isEmpty()
+                ? new ArrayDeque<>()
+                : new ArrayDeque<>(archive.findSegments(accountNumbers.keySet(), from, to));
+
+        // rows are projections, so the persistence context does not grow with the cursor
+        try (Stream<TransactionView> rows = txRepo.streamByCustomerIdAndDateBetween(customerId, from, to);
+             RowWriter writer = open(format, out)) {
+            Iterator<TransactionView> it = rows.iterator();
+            while (it.hasNext()) {
+                TransactionView row = it.next();
+                writeArchived(archived, row.accountId(), accountNumbers, from, to, writer);
+                writer.write(row);
+            }
+            writeArchived(archived, Long.MAX_VALUE, accountNumbers, from, to, writer);
+        }
+    }
+
+    private void writeArchived(Deque<ArchiveSegment> archived, long upToAccountId, Map<Long, String> accountNumbers,
+                               LocalDate from, LocalDate to, RowWriter writer) throws IOException {
+        while (!archived.isEmpty() && archived.peekFirst().getAccountId() <= upToAccountId) {
+            ArchiveSegment segment = archived.pollFirst();
+            for (TransactionView row : archive.read(segment, accountNumbers.get(segment.getAccountId()), from, to)) {
+                writer.write(row);
+            }
+        }
+    }
+
+    private RowWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter(objectMapper, out);
+            case CSV -> new CsvRowWriter(out);
+        };
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(TransactionView tx) throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(ObjectMapper mapper, OutputStream out) throws IOException {
+            this.generator = mapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(TransactionView tx) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("accountNumber", tx.accountNumber());
+            generator.writeStringField("date", tx.date().toString());
+            generator.writeStringField("type", tx.type().name());
+            generator.writeFieldName("amount");
+            generator.writeNumber(tx.amount().toString());
+            generator.writeFieldName("balance");
+            generator.writeNumber(tx.balance().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write("accountNumber,date,type,amount,balance\n");
+        }
+
+        @Override
+        public void write(TransactionView tx) throws IOException {
+            writer.write(escape(tx.accountNumber()));
+            writer.write(',');
+            writer.write(tx.date().toString());
+            writer.write(',');
+            writer.write(tx.type().name());
+            writer.write(',');
+            writer.write(tx.amount().toString());
+            writer.write(',');
+            writer.write(tx.balance().toString());
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
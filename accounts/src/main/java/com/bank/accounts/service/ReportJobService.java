@@ -0,0 +1,199 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.ReportJobDTO;
+import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.exception.ServiceBusyException;
+import com.bank.accounts.model.ReportJob;
+import com.bank.accounts.model.ReportJobStatus;
+import com.bank.accounts.repository.ReportJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Runs reports off the request thread on a fixed pool with a bounded queue. Identical requests in flight share
+// one job, and a stored result is reused for accounts.reports.jobs.result-ttl while the customer's accounts are
+// unchanged. Coalescing is per instance, like the posting lanes.
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportService reportService;
+    private final ReportCache reportCache;
+    private final ReportJobRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration resultTtl;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    // request key -> id of the job computing it
+    private final ConcurrentMap<String, String> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobService(ReportService reportService,
+                            ReportCache reportCache,
+                            ReportJobRepository repository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry registry,
+                            @Value("${accounts.reports.jobs.workers:2}") int workers,
+                            @Value("${accounts.reports.jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${accounts.reports.jobs.result-ttl:PT24H}") Duration resultTtl,
+                            @Value("${accounts.reports.jobs.retention:P7D}") Duration retention) {
+        this(reportService, reportCache, repository, objectMapper, registry, Clock.systemDefaultZone(), workers,
+                queueCapacity, resultTtl, retention);
+    }
+
+    ReportJobService(ReportService reportService, ReportCache reportCache, ReportJobRepository repository,
+                     ObjectMapper objectMapper, MeterRegistry registry, Clock clock, int workers, int queueCapacity,
+                     Duration resultTtl, Duration retention) {
+        this.reportService = reportService;
+        this.reportCache = reportCache;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.resultTtl = resultTtl;
+        this.retention = retention;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "report-job-" + threads.incrementAndGet()));
+        new ExecutorServiceMetrics(executor, "reports.jobs", Tags.empty()).bindTo(registry);
+    }
+
+    public ReportJobDTO submit(LocalDate from, LocalDate to, String customerId) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        // every report carries the live balances, so even a closed period is only the same report under the same
+        // version sum; the ETag is read on the primary, like the job's own query
+        String key = customerId + '|' + from + '|' + to + '|' + reportCache.eTag(customerId);
+
+        Optional<ReportJob> shared = Optional.ofNullable(inFlight.get(key))
+                .flatMap(repository::findById)
+                .or(() -> reusableResult(key));
+        if (shared.isPresent()) {
+            return ReportJobDTO.fromEntity(shared.get(), false);
+        }
+
+        Instant now = clock.instant();
+        ReportJob job = repository.save(ReportJob.builder()
+                .id(UUID.randomUUID().toString())
+                .requestKey(key)
+                .customerId(customerId)
+                .fromDate(from)
+                .toDate(to)
+                .status(ReportJobStatus.PENDING)
+                .createdAt(now)
+                .build());
+
+        // the row is saved before the key is published, so a coalesced caller can always read the winner's job
+        String winner = inFlight.putIfAbsent(key, job.getId());
+        if (winner != null) {
+            repository.delete(job);
+            return ReportJobDTO.fromEntity(repository.findById(winner).orElse(job), false);
+        }
+
+        try {
+            executor.execute(() -> run(job.getId(), key, from, to, customerId));
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(key, job.getId());
+            repository.delete(job);
+            throw new ServiceBusyException("Report queue is full, retry later");
+        }
+        return ReportJobDTO.fromEntity(job, false);
+    }
+
+    public ReportJobDTO find(String id) {
+        return repository.findById(id)
+                .map(job -> ReportJobDTO.fromEntity(job, true))
+                .orElseThrow(() -> new NotFoundException("Report job not found"));
+    }
+
+    private Optional<ReportJob> reusableResult(String key) {
+        return repository.findFirstByRequestKeyAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+                key, ReportJobStatus.DONE, clock.instant().minus(resultTtl));
+    }
+
+    private void run(String jobId, String key, LocalDate from, LocalDate to, String customerId) {
+        try {
+            update(jobId, job -> {
+                job.setStatus(ReportJobStatus.RUNNING);
+                job.setStartedAt(clock.instant());
+            });
+            // read on the primary so the result is never older than the ETag in its key
+            List<AccountReportDTO> report = reportService.getReportFromPrimary(from, to, customerId);
+            String result = objectMapper.writeValueAsString(report);
+            update(jobId, job -> {
+                job.setStatus(ReportJobStatus.DONE);
+                job.setResult(result);
+                job.setCompletedAt(clock.instant());
+            });
+        } catch (Exception ex) {
+            log.warn("Report job {} failed", jobId, ex);
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            update(jobId, job -> {
+                job.setStatus(ReportJobStatus.FAILED);
+                job.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                job.setCompletedAt(clock.instant());
+            });
+        } finally {
+            inFlight.remove(key, jobId);
+        }
+    }
+
+    private void update(String jobId, Consumer<ReportJob> change) {
+        repository.findById(jobId).ifPresent(job -> {
+            change.accept(job);
+            repository.save(job);
+        });
+    }
+
+    // jobs queued or running when the previous process stopped will never finish
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterrupted() {
+        int failed = repository.failUnfinished("Interrupted by a restart", clock.instant());
+        if (failed > 0) {
+            log.warn("Marked {} unfinished report jobs as failed", failed);
+        }
+    }
+
+    @Scheduled(cron = "${accounts.reports.jobs.purge-cron:0 15 * * * *}")
+    public void purge() {
+        int removed = repository.deleteOlderThan(clock.instant().minus(retention));
+        if (removed > 0) {
+            log.debug("Purged {} report jobs", removed);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -1,17 +1,26 @@
 package com.bank.accounts.service;
 
+import com.bank.accounts.archive.ArchiveStore;
 import com.bank.accounts.dto.AccountReportDTO;
 import com.bank.accounts.dto.TransactionDTO;
+import com.bank.accounts.dto.TransactionView;
 import com.bank.accounts.model.Account;
-import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.DailyBalance;
+import com.bank.accounts.model.Money;
 import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.DailyBalanceRepository;
 import com.bank.accounts.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,37 +29,74 @@ public class ReportService {
 
     private final AccountRepository accountRepo;
     private final TransactionRepository txRepo;
+    private final DailyBalanceRepository dailyRepo;
+    private final ArchiveStore archive;
 
+    // The same report read in a read-write transaction, so it is served by the primary even with the replica on.
+    @Timed(value = "accounts.reports.get", histogram = true)
+    @Transactional
+    public List<AccountReportDTO> getReportFromPrimary(LocalDate from, LocalDate to, String customerId) {
+        return getReport(from, to, customerId);
+    }
+
+    @Timed(value = "accounts.reports.get", histogram = true)
+    @Transactional(readOnly = true)
     public List<AccountReportDTO> getReport(LocalDate from, LocalDate to, String customerId) {
-        List<Account> accounts = accountRepo.findAll().stream()
-                .filter(acc -> acc.getCustomerId().equals(customerId))
-                .toList();
+        List<Account> accounts = accountRepo.findByCustomerIdOrderById(customerId);
+        if (accounts.isEmpty()) {
+            return List.of();
+        }
 
-        return accounts.stream().map(acc -> {
-            List<Transaction> txEntities = txRepo.findByAccount_AccountNumberAndDateBetween(
-                    acc.getAccountNumber(), from, to);
+        List<Long> accountIds = accounts.stream().map(Account::getId).toList();
+
+        Map<Long, DailyBalance> closing = dailyRepo.findLatestOnOrBefore(accountIds, to).stream()
+                .collect(Collectors.toMap(DailyBalance::getAccountId, Function.identity()));
 
-            List<TransactionDTO> txList = txEntities.stream()
-                    .map(TransactionDTO::fromEntity)
-                    .collect(Collectors.toList());
+        Map<Long, PeriodTotals> totals = new HashMap<>();
+        for (DailyBalance day : dailyRepo.findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc(accountIds, from, to)) {
+            totals.computeIfAbsent(day.getAccountId(), id -> new PeriodTotals()).add(day);
+        }
 
-            BigDecimal currentBalance = acc.getInitialBalance();
-            for (Transaction tx : txEntities) {
-                currentBalance = tx.getBalance();
-            }
+        // archived rows are older than every hot row of the same account, so they go first
+        Map<Long, String> accountNumbers = accounts.stream()
+                .collect(Collectors.toMap(Account::getId, Account::getAccountNumber));
+        Map<Long, List<TransactionDTO>> txByAccount = new HashMap<>();
+        archive.findByAccountsAndDateBetween(accountNumbers, from, to).forEach((accountId, rows) ->
+                txByAccount.put(accountId, rows.stream()
+                        .map(TransactionDTO::fromView)
+                        .collect(Collectors.toCollection(ArrayList::new))));
+        for (TransactionView row : txRepo.findByAccountIdsAndDateBetween(accountIds, from, to)) {
+            txByAccount.computeIfAbsent(row.accountId(), id -> new ArrayList<>()).add(TransactionDTO.fromView(row));
+        }
 
-            if (txEntities.isEmpty()) {
-                currentBalance = acc.getInitialBalance();
-            }
+        return accounts.stream().map(acc -> {
+            DailyBalance last = closing.get(acc.getId());
+            PeriodTotals period = totals.getOrDefault(acc.getId(), new PeriodTotals());
 
             return AccountReportDTO.builder()
                     .accountNumber(acc.getAccountNumber())
                     .accountType(acc.getAccountType().name())
                     .initialBalance(acc.getInitialBalance())
-                    .currentBalance(currentBalance)
+                    .currentBalance(last != null ? last.getClosingBalance() : acc.getInitialBalance())
+                    .totalCredits(Money.ofMinor(period.credits))
+                    .totalDebits(Money.ofMinor(period.debits))
+                    .transactionCount(period.count)
                     .status(acc.getStatus())
-                    .transactions(txList)
+                    .transactions(txByAccount.getOrDefault(acc.getId(), List.of()))
                     .build();
         }).toList();
     }
+
+    // accumulates minor units so summing a period allocates nothing per day
+    private static final class PeriodTotals {
+        private long credits;
+        private long debits;
+        private int count;
+
+        void add(DailyBalance day) {
+            credits = Math.addExact(credits, day.getCreditTotal().minorUnits());
+            debits = Math.addExact(debits, day.getDebitTotal().minorUnits());
+            count += day.getTxCount();
+        }
+    }
 }
@@ -1,56 +1,83 @@
 package com.bank.accounts.service;
 
-import com.bank.accounts.exception.InsufficientBalanceException;
-import com.bank.accounts.exception.NotFoundException;
-import com.bank.accounts.model.*;
-import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.CursorPage;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
 import com.bank.accounts.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
-    private final AccountRepository accountRepo;
     private final TransactionRepository txRepo;
+    private final PostingEngine postingEngine;
+    private final AccountService accountService;
+    private final ArchiveStore archive;
+    private final IdempotencyStore idempotency;
 
-    @Transactional
-    public Transaction register(String accountNumber, TransactionType type, BigDecimal amount) {
-        Account account = accountRepo.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new NotFoundException("Account not found"));
-
-        BigDecimal newBalance;
-        switch (type) {
-            case DEPOSIT -> newBalance = account.getInitialBalance().add(amount.abs());
-            case WITHDRAWAL -> {
-                if (account.getInitialBalance().compareTo(amount.abs()) < 0)
-                    throw new InsufficientBalanceException();
-                newBalance = account.getInitialBalance().subtract(amount.abs());
-            }
-            default -> throw new IllegalArgumentException("Invalid transaction type");
-        }
+    @Value("${accounts.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    // both overloads are timed because the short one delegates through this, bypassing the proxy
+    @Timed(value = "accounts.transactions.register", histogram = true)
+    public TransactionView register(String accountNumber, TransactionType type, Money amount) {
+        return register(null, accountNumber, type, amount);
+    }
 
-        account.setInitialBalance(newBalance);
-        Transaction tx = Transaction.builder()
-                .date(LocalDate.now())
-                .type(type)
-                .amount(type == TransactionType.WITHDRAWAL ? amount.abs().negate() : amount.abs())
-                .balance(newBalance)
-                .account(account)
-                .build();
-
-        txRepo.save(tx);
-        accountRepo.save(account);
-        return tx;
+    // With a key, a request that times out leaves the posting tracked by the store: a retry waits on that same
+    // posting and gets its outcome instead of queueing a second one.
+    @Timed(value = "accounts.transactions.register", histogram = true)
+    public TransactionView register(String idempotencyKey, String accountNumber, TransactionType type, Money amount) {
+        if (idempotencyKey == null) {
+            return TransactionView.of(postingEngine.post(null, accountNumber, type, amount));
+        }
+        return postingEngine.await(idempotency.execute(idempotencyKey, accountNumber, type, amount,
+                persistedKey -> postingEngine.submit(persistedKey, accountNumber, type, amount)
+                        .thenApply(TransactionView::of)));
     }
 
-    public List<Transaction> findByAccountAndDates(String accountNumber, LocalDate from, LocalDate to) {
-        return txRepo.findByAccount_AccountNumberAndDateBetween(accountNumber, from, to);
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionView> findPage(String accountNumber, LocalDate from, LocalDate to,
+                                                String cursor, Integer limit) {
+        Long accountId = accountService.findSnapshot(accountNumber).id();
+        int size = CursorPage.pageSize(limit, maxPageSize);
+
+        LocalDate afterDate = from;
+        long afterId = 0L;
+        if (cursor != null) {
+            String[] key = CursorPage.decode(cursor).split("\\|");
+            try {
+                afterDate = LocalDate.parse(key[0]);
+                afterId = Long.parseLong(key[1]);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // archived periods precede the hot rows, so a page may start in the archive and continue in the table
+        List<TransactionView> rows = new ArrayList<>(
+                archive.findPage(accountId, accountNumber, afterDate, afterId, to, size + 1));
+        if (rows.size() <= size) {
+            if (!rows.isEmpty()) {
+                TransactionView last = rows.get(rows.size() - 1);
+                afterDate = last.date();
+                afterId = last.id();
+            }
+            rows.addAll(txRepo.findPageByAccountId(accountId, afterDate, afterId, to,
+                    Limit.of(size + 1 - rows.size())));
+        }
+        return CursorPage.of(rows, size, tx -> tx.date() + "|" + tx.id());
     }
 }
@@ -0,0 +1,21 @@
+-- Schema as created by banking_schema.sql before migrations were introduced, and nothing more: existing
+-- databases are baselined at this version (spring.flyway.baseline-on-migrate) and never run this file.
+
+CREATE TABLE accounts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(100) NOT NULL UNIQUE,
+    account_type ENUM('SAVINGS', 'CURRENT') NOT NULL,
+    initial_balance DECIMAL(15,2) NOT NULL,
+    status BOOLEAN NOT NULL DEFAULT TRUE,
+    customer_id VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date DATE NOT NULL,
+    type ENUM('DEPOSIT', 'WITHDRAWAL') NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    balance DECIMAL(15,2) NOT NULL,
+    account_id BIGINT NOT NULL,
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
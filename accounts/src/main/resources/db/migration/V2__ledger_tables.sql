@@ -0,0 +1,29 @@
+-- Tables added by the posting lanes, the daily balance projection and persistent idempotency keys.
+-- IF NOT EXISTS because a database that ran those versions under ddl-auto: update already has them.
+
+-- Emulated sequence for transaction ids (allocated in blocks of 100); seeded by V3
+CREATE TABLE IF NOT EXISTS transactions_seq (
+    next_val BIGINT
+);
+
+-- ids now come from transactions_seq
+ALTER TABLE transactions MODIFY COLUMN id BIGINT NOT NULL;
+
+CREATE TABLE IF NOT EXISTS daily_balances (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    opening_balance DECIMAL(15,2) NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    debit_total DECIMAL(15,2) NOT NULL,
+    credit_total DECIMAL(15,2) NOT NULL,
+    tx_count INT NOT NULL,
+    CONSTRAINT uk_daily_balances_account_date UNIQUE (account_id, date)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(255) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
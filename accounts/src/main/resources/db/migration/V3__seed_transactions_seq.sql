@@ -0,0 +1,9 @@
+-- Databases that already had transactions get transactions_seq on upgrade, so it must start past their ids.
+-- For a stored value v Hibernate's pooled optimizer hands out v - 99 .. v (allocationSize 100; only the
+-- initial value 1 is taken as the start of its block), hence MAX(id) + 100 rather than MAX(id) + 1.
+-- GREATEST keeps a sequence that has already moved past that point.
+INSERT INTO transactions_seq (next_val)
+SELECT seed FROM (SELECT COALESCE(MAX(id), 0) + 100 AS seed FROM transactions) t
+WHERE NOT EXISTS (SELECT 1 FROM transactions_seq);
+
+UPDATE transactions_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 100 FROM transactions));
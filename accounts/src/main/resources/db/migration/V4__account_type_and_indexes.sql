@@ -0,0 +1,14 @@
+-- AccountType is SAVINGS/CHECKING; the baseline declared CURRENT, so CHECKING accounts could not be stored.
+ALTER TABLE accounts MODIFY COLUMN account_type VARCHAR(20) NOT NULL;
+UPDATE accounts SET account_type = 'CHECKING' WHERE account_type = 'CURRENT';
+ALTER TABLE accounts MODIFY COLUMN account_type ENUM('SAVINGS', 'CHECKING') NOT NULL;
+
+-- findByCustomerIdOrderById and the customer export join (customer_id -> id, account_number)
+CREATE INDEX idx_accounts_customer ON accounts (customer_id, account_number);
+
+-- Every transaction query filters on account_id and a date range, and the keyset page orders by (date, id).
+-- The trailing columns make the index covering for TransactionView, so listings and reports skip the row lookup.
+CREATE INDEX idx_transactions_account_date ON transactions (account_id, date, id, type, amount, balance);
+
+-- IdempotencyRecordRepository.deleteOlderThan
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,12 @@
+-- Catalog of transaction segments moved out of the transactions table (see ArchiveJob).
+CREATE TABLE archive_segments (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    row_count INT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_archive_segments_account_period UNIQUE (account_id, period_start)
+);
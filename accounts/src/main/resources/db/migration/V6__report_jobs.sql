@@ -0,0 +1,21 @@
+-- Asynchronous report computations and their stored results (see ReportJobService).
+CREATE TABLE report_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    request_key VARCHAR(150) NOT NULL,
+    customer_id VARCHAR(100) NOT NULL,
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'DONE', 'FAILED') NOT NULL,
+    result LONGTEXT,
+    error VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6) NULL,
+    completed_at TIMESTAMP(6) NULL
+);
+
+-- reuse of a stored result for the same request
+CREATE INDEX idx_report_jobs_request ON report_jobs (request_key, status, completed_at);
+-- startup recovery of unfinished jobs
+CREATE INDEX idx_report_jobs_status ON report_jobs (status);
+-- retention purge
+CREATE INDEX idx_report_jobs_created_at ON report_jobs (created_at);
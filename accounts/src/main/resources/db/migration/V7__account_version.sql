@@ -0,0 +1,2 @@
+-- Optimistic-lock version, bumped on every balance update; read endpoints derive their ETag from it.
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- The request key of a report job now ends with the customer's report ETag (see ReportJobService).
+ALTER TABLE report_jobs MODIFY COLUMN request_key VARCHAR(255) NOT NULL;
@@ -0,0 +1,15 @@
+-- V2 created daily_balances empty, so accounts with earlier transactions had no rows and balance-as-of fell back
+-- to the initial balance. Fills one row per account and day from transactions, the way DailyBalanceService
+-- recomputes them: days in (date, id) order, opening balance = balance - signed amount of the day's first posting.
+-- Days that already have a row are left to the nightly verification.
+INSERT INTO daily_balances (account_id, date, opening_balance, closing_balance, debit_total, credit_total, tx_count)
+SELECT d.account_id, d.date, f.balance - f.amount, l.balance, d.debit_total, d.credit_total, d.tx_count
+FROM (SELECT account_id, date, MIN(id) AS first_id, MAX(id) AS last_id,
+             SUM(CASE WHEN type = 'WITHDRAWAL' THEN ABS(amount) ELSE 0 END) AS debit_total,
+             SUM(CASE WHEN type = 'WITHDRAWAL' THEN 0 ELSE ABS(amount) END) AS credit_total,
+             COUNT(*) AS tx_count
+      FROM transactions
+      GROUP BY account_id, date) d
+JOIN transactions f ON f.id = d.first_id
+JOIN transactions l ON l.id = d.last_id
+WHERE NOT EXISTS (SELECT 1 FROM daily_balances b WHERE b.account_id = d.account_id AND b.date = d.date);
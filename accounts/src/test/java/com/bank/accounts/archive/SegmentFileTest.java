@@ -0,0 +1,115 @@
+package com.bank.accounts.archive;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentFileTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void round_trips_all_rows_across_blocks() throws IOException {
+        List<TransactionView> rows = rows(1000, 10);
+        Path path = dir.resolve("7/2024-01.seg");
+
+        SegmentFile.Summary summary = SegmentFile.write(path, 7L, rows.iterator(), 64);
+        SegmentFile segment = SegmentFile.open(path);
+
+        assertEquals(1000, summary.rowCount());
+        assertEquals(Files.size(path), summary.sizeBytes());
+        assertEquals(7L, segment.accountId());
+        assertEquals(START, segment.firstDate());
+        assertEquals(START.plusDays(99), segment.lastDate());
+        assertEquals(rows, segment.range("A-7", START, START.plusDays(99)));
+        assertFalse(Files.exists(dir.resolve("7/2024-01.seg.tmp")));
+    }
+
+    @Test
+    void range_reads_only_the_requested_days() throws IOException {
+        Path path = write(rows(1000, 10));
+
+        List<TransactionView> found = SegmentFile.open(path).range("A-7", START.plusDays(10), START.plusDays(19));
+
+        assertEquals(100, found.size());
+        assertEquals(101L, found.get(0).id());
+        assertEquals(200L, found.get(found.size() - 1).id());
+    }
+
+    @Test
+    void after_follows_the_keyset_contract() throws IOException {
+        SegmentFile segment = SegmentFile.open(write(rows(1000, 10)));
+
+        List<TransactionView> page = segment.after("A-7", START.plusDays(10), 105L, START.plusDays(99), 50);
+
+        assertEquals(50, page.size());
+        assertEquals(106L, page.get(0).id());
+        assertEquals(155L, page.get(49).id());
+        assertTrue(segment.after("A-7", START.plusDays(99), 1000L, START.plusDays(500), 5).isEmpty());
+    }
+
+    @Test
+    void empty_segment_has_no_rows() throws IOException {
+        Path path = dir.resolve("empty.seg");
+        SegmentFile.write(path, 1L, Collections.emptyIterator(), 64);
+
+        assertTrue(SegmentFile.open(path).range("A-1", START, START.plusDays(30)).isEmpty());
+    }
+
+    @Test
+    void rejects_unsorted_rows() {
+        List<TransactionView> rows = new ArrayList<>(rows(10, 1));
+        Collections.swap(rows, 2, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> write(rows));
+    }
+
+    @Test
+    void detects_corrupted_blocks() throws IOException {
+        Path path = write(rows(100, 10));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f, 0x7f, 0x7f, 0x7f}), 8);
+        }
+
+        SegmentFile segment = SegmentFile.open(path);
+        assertThrows(IllegalStateException.class, () -> segment.range("A-7", START, START.plusDays(9)));
+    }
+
+    private Path write(List<TransactionView> rows) throws IOException {
+        Path path = dir.resolve("7/2024-01.seg");
+        SegmentFile.write(path, 7L, rows.iterator(), 64);
+        return path;
+    }
+
+    private static List<TransactionView> rows(int count, int perDay) {
+        List<TransactionView> rows = new ArrayList<>();
+        long balance = 0;
+        for (int i = 0; i < count; i++) {
+            boolean withdrawal = i % 3 == 0 && balance > 0;
+            long amount = withdrawal ? -500 : 1250;
+            balance += amount;
+            rows.add(new TransactionView((long) i + 1, 7L, "A-7", START.plusDays(i / perDay),
+                    withdrawal ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT,
+                    Money.ofMinor(amount), Money.ofMinor(balance)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.accounts.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceConfigTest {
+
+    @Test
+    void replica_without_url_fails_fast() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new DataSourceConfig().replicaDataSource(properties));
+        assertTrue(ex.getMessage().contains("REPLICA_URL"));
+    }
+}
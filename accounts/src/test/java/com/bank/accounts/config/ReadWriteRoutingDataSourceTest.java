@@ -0,0 +1,96 @@
+package com.bank.accounts.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagGuard guard;
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager txManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replica_status (seconds_behind BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_status VALUES (0)");
+
+        registry = new SimpleMeterRegistry();
+        guard = new ReplicaLagGuard(replica, "SELECT seconds_behind FROM replica_status", Duration.ofSeconds(5), registry);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, guard, registry));
+        jdbc = new JdbcTemplate(routing);
+        txManager = new DataSourceTransactionManager(routing);
+    }
+
+    @Test
+    void read_only_transactions_use_the_replica() {
+        assertEquals("replica", marker(true));
+        assertEquals(1.0, registry.counter("accounts.datasource.routes", "target", "replica").count());
+    }
+
+    @Test
+    void writes_and_non_transactional_reads_use_the_primary() {
+        assertEquals("primary", marker(false));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    @Test
+    void lagging_replica_falls_back_to_the_primary() {
+        replicaJdbc.update("UPDATE replica_status SET seconds_behind = 60");
+        guard.probe();
+
+        assertFalse(guard.isHealthy());
+        assertEquals("primary", marker(true));
+        assertEquals(1.0, registry.counter("accounts.datasource.replica.fallbacks").count());
+        assertEquals(60.0, registry.get("accounts.datasource.replica.lag").gauge().value());
+
+        replicaJdbc.update("UPDATE replica_status SET seconds_behind = 1");
+        guard.probe();
+
+        assertEquals("replica", marker(true));
+    }
+
+    @Test
+    void unknown_lag_marks_the_replica_unhealthy() {
+        replicaJdbc.update("UPDATE replica_status SET seconds_behind = NULL");
+        guard.probe();
+        assertFalse(guard.isHealthy());
+
+        replicaJdbc.update("DELETE FROM replica_status");
+        guard.probe();
+        assertFalse(guard.isHealthy());
+        assertEquals(-1.0, registry.get("accounts.datasource.replica.lag").gauge().value());
+    }
+
+    private String marker(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(txManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.accounts.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class CustomerDirectoryLoaderTest {
+
+    private final UUID active = UUID.randomUUID();
+    private final UUID inactive = UUID.randomUUID();
+    private final UUID known = UUID.randomUUID();
+
+    private MockRestServiceServer server;
+    private CustomerDirectory directory;
+    private CustomerDirectoryLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://customers");
+        server = MockRestServiceServer.bindTo(builder).build();
+        directory = new CustomerDirectory(1 << 20, 16, new SimpleMeterRegistry());
+        directory.put(known, true);
+        loader = new CustomerDirectoryLoader(builder.build(), directory);
+    }
+
+    @Test
+    void every_page_is_applied_with_its_status() {
+        server.expect(requestTo("http://customers/customers?limit=500"))
+                .andRespond(withSuccess("{\"items\":[" + customer(active, true) + "],\"nextCursor\":\"Mg\"}",
+                        MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://customers/customers?limit=500&cursor=Mg"))
+                .andRespond(withSuccess("{\"items\":[" + customer(inactive, false)
+                        + ",{\"customerId\":\"legacy-id\"}],\"nextCursor\":null}", MediaType.APPLICATION_JSON));
+
+        loader.load();
+
+        server.verify();
+        assertTrue(directory.isActive(active.toString()));
+        assertTrue(directory.exists(inactive.toString()));
+        assertFalse(directory.isActive(inactive.toString()));
+        assertTrue(directory.isActive(known.toString()));
+        assertEquals(3, directory.size());
+    }
+
+    @Test
+    void unavailable_customers_service_keeps_what_the_directory_already_holds() {
+        server.expect(requestTo("http://customers/customers?limit=500")).andRespond(withServerError());
+
+        loader.load();
+
+        assertTrue(directory.isActive(known.toString()));
+        assertEquals(1, directory.size());
+    }
+
+    @Test
+    void without_a_url_nothing_is_requested() {
+        new CustomerDirectoryLoader(null, directory).load();
+
+        server.verify();
+        assertEquals(1, directory.size());
+    }
+
+    private static String customer(UUID id, boolean status) {
+        return "{\"customerId\":\"" + id + "\",\"name\":\"Ana\",\"status\":" + status + "}";
+    }
+}
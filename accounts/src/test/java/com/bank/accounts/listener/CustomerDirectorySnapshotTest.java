@@ -0,0 +1,67 @@
+package com.bank.accounts.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerDirectorySnapshotTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restores_entries_and_status() throws IOException {
+        Path path = dir.resolve("customers/customers.snapshot");
+        CustomerDirectory source = new CustomerDirectory(1 << 20, 16, registry);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            source.put(id, i % 2 == 0);
+        }
+        assertEquals(10_000, new CustomerDirectorySnapshot(source, path).write());
+
+        CustomerDirectory restored = new CustomerDirectory(1 << 20, 16, new SimpleMeterRegistry());
+        new CustomerDirectorySnapshot(restored, path).load();
+
+        assertEquals(10_000, restored.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertTrue(restored.exists(ids.get(i)));
+            assertEquals(i % 2 == 0, restored.isActive(ids.get(i)));
+        }
+        // the filter is rebuilt for the loaded entries instead of growing stage by stage
+        assertEquals(1, restored.filter().stageCount());
+        assertFalse(Files.exists(path.resolveSibling("customers.snapshot.tmp")));
+    }
+
+    @Test
+    void starts_empty_when_snapshot_is_missing_or_corrupt() throws IOException {
+        Path path = dir.resolve("customers.snapshot");
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+
+        new CustomerDirectorySnapshot(directory, path).load();
+        assertEquals(0, directory.size());
+
+        CustomerDirectory source = new CustomerDirectory(1 << 20, 16, new SimpleMeterRegistry());
+        source.put(UUID.randomUUID(), true);
+        source.put(UUID.randomUUID(), true);
+        new CustomerDirectorySnapshot(source, path).write();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[12] ^= 0x01;
+        Files.write(path, bytes);
+
+        new CustomerDirectorySnapshot(directory, path).load();
+        assertEquals(0, directory.size());
+    }
+}
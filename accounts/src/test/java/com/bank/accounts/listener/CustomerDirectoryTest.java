@@ -0,0 +1,121 @@
+package com.bank.accounts.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerDirectoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void stores_membership_and_status() {
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+        UUID active = UUID.randomUUID();
+        UUID inactive = UUID.randomUUID();
+
+        directory.put(active, true);
+        directory.put(inactive, false);
+
+        assertTrue(directory.exists(active.toString()));
+        assertTrue(directory.isActive(active.toString()));
+        assertTrue(directory.exists(inactive.toString()));
+        assertFalse(directory.isActive(inactive.toString()));
+        assertFalse(directory.exists(UUID.randomUUID().toString()));
+        assertFalse(directory.exists("not-a-uuid"));
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    void grows_and_keeps_entries_reachable_after_removals() {
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            assertTrue(directory.put(id, i % 2 == 0));
+        }
+
+        for (int i = 0; i < ids.size(); i += 3) {
+            assertTrue(directory.remove(ids.get(i)));
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i % 3 != 0, directory.exists(ids.get(i)), "entry " + i);
+        }
+        assertTrue(directory.capacity() >= 8_192);
+        assertTrue(directory.occupancy() <= 0.75);
+    }
+
+    @Test
+    void rejects_inserts_beyond_memory_ceiling() {
+        // 1 KiB allows a 32-slot table, i.e. 24 entries at the maximum load factor
+        CustomerDirectory directory = new CustomerDirectory(1024, 16, registry);
+        int stored = 0;
+        for (int i = 0; i < 100; i++) {
+            if (directory.put(UUID.randomUUID(), true)) {
+                stored++;
+            }
+        }
+
+        assertEquals(24, stored);
+        assertEquals(32, directory.capacity());
+        assertTrue(directory.bytes() <= 1024);
+        assertEquals(76.0, registry.get("customers.directory.rejected").counter().count());
+    }
+
+    @Test
+    void applies_batches_in_order() {
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+        UUID id = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        int applied = directory.applyAll(List.of(
+                CustomerDirectory.Change.upsert(id, true),
+                CustomerDirectory.Change.upsert(other, true),
+                CustomerDirectory.Change.upsert(id, false),
+                CustomerDirectory.Change.removal(other)));
+
+        assertEquals(4, applied);
+        assertEquals(1, directory.size());
+        assertTrue(directory.exists(id));
+        assertFalse(directory.isActive(id));
+        assertFalse(directory.exists(other));
+    }
+
+    @Test
+    void filter_answers_unknown_ids_and_forgets_removed_ones_on_rebuild() {
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            directory.put(id, true);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(directory.exists(UUID.randomUUID()));
+        }
+        double negatives = registry.get("customers.bloom.negatives").counter().count();
+        double falsePositives = registry.get("customers.bloom.false-positives").counter().count();
+        assertEquals(1_000.0, negatives + falsePositives);
+        assertTrue(falsePositives <= 50, "false positives " + falsePositives);
+
+        // removing a quarter of the keys triggers a rebuild that drops their bits
+        ScalableBloomFilter before = directory.filter();
+        for (int i = 0; i < 250; i++) {
+            directory.remove(ids.get(i));
+        }
+        assertNotSame(before, directory.filter());
+        assertEquals(750, directory.filter().size());
+        for (int i = 250; i < ids.size(); i++) {
+            assertTrue(directory.exists(ids.get(i)));
+        }
+        assertTrue(registry.get("customers.bloom.fill-ratio").gauge().value() > 0);
+    }
+}
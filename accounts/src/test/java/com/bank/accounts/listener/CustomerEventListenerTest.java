@@ -0,0 +1,64 @@
+package com.bank.accounts.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CustomerEventListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Channel channel = mock(Channel.class);
+
+    @Test
+    void acknowledges_the_batch_once_applied_and_dead_letters_undecodable_messages() throws IOException {
+        CustomerDirectory directory = new CustomerDirectory(1 << 20, 16, registry);
+        CustomerEventListener listener = new CustomerEventListener(directory, new ObjectMapper(), registry);
+        UUID id = UUID.randomUUID();
+
+        listener.onCustomerEvents(List.of(event(1, id.toString()), message(2, "not json"), event(3, id.toString())),
+                channel);
+
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicAck(3, true);
+        assertTrue(directory.exists(id));
+        assertEquals(2.0, registry.get("customers.events.consumed").counter().count());
+    }
+
+    @Test
+    void dead_letters_the_batch_when_the_directory_fails() throws IOException {
+        CustomerDirectory directory = mock(CustomerDirectory.class);
+        when(directory.applyAll(anyCollection())).thenThrow(new IllegalStateException("boom"));
+        CustomerEventListener listener = new CustomerEventListener(directory, new ObjectMapper(), registry);
+
+        listener.onCustomerEvents(List.of(event(1, UUID.randomUUID().toString()),
+                event(2, UUID.randomUUID().toString())), channel);
+
+        verify(channel).basicNack(2, true, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        assertEquals(2.0, registry.get("customers.events.dead-lettered").counter().count());
+    }
+
+    private static Message event(long tag, String customerId) {
+        return message(tag, "{\"customerId\":\"" + customerId + "\",\"name\":\"Ana\",\"status\":true}");
+    }
+
+    private static Message message(long tag, String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(tag);
+        properties.setReceivedRoutingKey("customer.created");
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.accounts.listener;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void never_misses_an_added_key() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        }
+        assertEquals(20_000, filter.size());
+    }
+
+    @Test
+    void keeps_false_positive_rate_under_target_while_growing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 30_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        int positives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            UUID id = UUID.randomUUID();
+            if (filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits())) {
+                positives++;
+            }
+        }
+
+        // 1000 + 2000 + 4000 + 8000 + 16000 keys fill five stages
+        assertEquals(5, filter.stageCount());
+        // the stage rates sum to just under the target, so the measured rate gets room for sampling noise
+        assertTrue(filter.expectedFpp() <= 0.01, "expected rate " + filter.expectedFpp());
+        assertTrue((double) positives / probes <= 0.011, "measured rate " + (double) positives / probes);
+    }
+
+    @Test
+    void reports_fill_ratio_of_the_newest_stage() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01);
+        assertEquals(0.0, filter.fillRatio());
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        // a stage sized for its capacity ends with about half of its bits set
+        assertEquals(1, filter.stageCount());
+        assertEquals(0.5, filter.fillRatio(), 0.05);
+
+        filter.add(1L, 2L);
+        assertEquals(2, filter.stageCount());
+        assertTrue(filter.fillRatio() < 0.01);
+    }
+
+    @Test
+    void rejects_invalid_parameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1));
+    }
+}
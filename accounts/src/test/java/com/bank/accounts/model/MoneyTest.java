@@ -0,0 +1,45 @@
+package com.bank.accounts.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void arithmetic_is_exact_in_minor_units() {
+        Money balance = Money.parse("100.10");
+
+        assertEquals(Money.parse("100.30"), balance.plus(Money.parse("0.2")));
+        assertEquals(Money.parse("-0.90"), balance.minus(Money.parse("101")));
+        assertEquals(10010, balance.minorUnits());
+        assertEquals("-0.05", Money.ofMinor(-5).toString());
+        assertTrue(Money.parse("1").isLessThan(Money.parse("1.01")));
+    }
+
+    @Test
+    void rejects_extra_decimals_and_values_beyond_the_column() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("10000000000000.00"));
+
+        Money max = Money.ofMinor(Money.MAX_MINOR);
+        assertThrows(IllegalArgumentException.class, () -> max.plus(Money.parse("0.01")));
+        assertThrows(IllegalArgumentException.class, () -> max.negate().minus(Money.parse("0.01")));
+    }
+
+    @Test
+    void converts_to_decimal_column_and_json() throws Exception {
+        MoneyConverter converter = new MoneyConverter();
+        assertEquals(new BigDecimal("12.30"), converter.convertToDatabaseColumn(Money.parse("12.3")));
+        assertEquals(Money.parse("12.3"), converter.convertToEntityAttribute(new BigDecimal("12.300")));
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("12.30", mapper.writeValueAsString(Money.parse("12.3")));
+        assertEquals(Money.parse("7.5"), mapper.readValue("7.50", Money.class));
+        assertEquals(Money.parse("7.5"), mapper.readValue("\"7.5\"", Money.class));
+    }
+}
@@ -0,0 +1,126 @@
+package com.bank.accounts.reactive;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveReadServiceTest {
+
+    private static final String OPTIONS = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @Mock
+    private ArchiveStore archive;
+
+    private ReactiveReadConfig.ReactivePool pool;
+
+    private ReactiveReadService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        String name = UUID.randomUUID().toString();
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";" + OPTIONS, "sa", ""));
+        jdbc.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, account_number VARCHAR(100), account_type VARCHAR(20), "
+                + "initial_balance DECIMAL(15,2), status BOOLEAN, customer_id VARCHAR(100))");
+        jdbc.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, date DATE, type VARCHAR(20), amount DECIMAL(15,2), "
+                + "balance DECIMAL(15,2), account_id BIGINT)");
+        jdbc.execute("CREATE TABLE daily_balances (id BIGINT AUTO_INCREMENT PRIMARY KEY, account_id BIGINT, date DATE, "
+                + "opening_balance DECIMAL(15,2), closing_balance DECIMAL(15,2), debit_total DECIMAL(15,2), "
+                + "credit_total DECIMAL(15,2), tx_count INT)");
+        jdbc.update("INSERT INTO accounts VALUES (1, 'ACC-1', 'SAVINGS', 100.00, TRUE, 'C-1')");
+        jdbc.update("INSERT INTO accounts VALUES (2, 'ACC-2', 'CHECKING', 50.00, TRUE, 'C-1')");
+        jdbc.update("INSERT INTO transactions VALUES (11, '2025-01-10', 'DEPOSIT', 30.00, 130.00, 1)");
+        jdbc.update("INSERT INTO transactions VALUES (12, '2025-01-20', 'WITHDRAWAL', -10.00, 120.00, 1)");
+        jdbc.update("INSERT INTO transactions VALUES (13, '2025-02-05', 'DEPOSIT', 5.00, 125.00, 1)");
+        jdbc.update("INSERT INTO daily_balances (account_id, date, opening_balance, closing_balance, debit_total, "
+                + "credit_total, tx_count) VALUES (1, '2025-01-10', 100.00, 130.00, 0.00, 30.00, 1)");
+        jdbc.update("INSERT INTO daily_balances (account_id, date, opening_balance, closing_balance, debit_total, "
+                + "credit_total, tx_count) VALUES (1, '2025-01-20', 130.00, 120.00, 10.00, 0.00, 1)");
+        jdbc.update("INSERT INTO daily_balances (account_id, date, opening_balance, closing_balance, debit_total, "
+                + "credit_total, tx_count) VALUES (1, '2025-02-05', 120.00, 125.00, 0.00, 5.00, 1)");
+
+        when(archive.findByAccountsAndDateBetween(anyMap(), any(), any())).thenReturn(Map.of());
+
+        pool = new ReactiveReadConfig().reactiveConnectionPool("r2dbc:h2:mem:///" + name + "?options=" + OPTIONS,
+                "sa", "", 1, 2, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        ReactiveReadRepository repository = new ReactiveReadRepository(new ReactiveReadConfig().reactiveDatabaseClient(pool));
+        service = new ReactiveReadService(repository, archive);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void report_streams_one_element_per_account_in_id_order() {
+        StepVerifier.create(service.streamReport(from, to, "C-1"))
+                .assertNext(report -> {
+                    assertEquals("ACC-1", report.getAccountNumber());
+                    assertEquals(Money.parse("120.00"), report.getCurrentBalance());
+                    assertEquals(Money.parse("30.00"), report.getTotalCredits());
+                    assertEquals(Money.parse("10.00"), report.getTotalDebits());
+                    assertEquals(2, report.getTransactionCount());
+                    assertEquals(2, report.getTransactions().size());
+                })
+                .assertNext(report -> {
+                    assertEquals("ACC-2", report.getAccountNumber());
+                    assertEquals("CHECKING", report.getAccountType());
+                    assertEquals(Money.parse("50.00"), report.getCurrentBalance());
+                    assertEquals(0, report.getTransactionCount());
+                    assertTrue(report.getTransactions().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void archived_rows_come_before_hot_rows() {
+        TransactionView archived = new TransactionView(3L, 1L, "ACC-1", LocalDate.of(2024, 12, 30),
+                TransactionType.DEPOSIT, Money.parse("20.00"), Money.parse("100.00"));
+        when(archive.findByAccountsAndDateBetween(eq(Map.of(1L, "ACC-1")), any(), any()))
+                .thenReturn(Map.of(1L, List.of(archived)));
+
+        StepVerifier.create(service.streamTransactions("ACC-1", LocalDate.of(2024, 12, 1), to).map(TransactionView::id))
+                .expectNext(3L, 11L, 12L)
+                .verifyComplete();
+    }
+
+    @Test
+    void unknown_account_fails_with_not_found() {
+        StepVerifier.create(service.streamTransactions("missing", from, to))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void backpressure_limits_rows_to_what_was_requested() {
+        StepVerifier.create(service.streamTransactions("ACC-1", from, to), 1)
+                .expectNextCount(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
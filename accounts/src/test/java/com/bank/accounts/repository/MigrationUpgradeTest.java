@@ -0,0 +1,85 @@
+package com.bank.accounts.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrations against a database that predates them, the way an existing deployment is upgraded:
+ * baselined at version 1, so V1 never runs and everything added later must come from V2 onwards.
+ */
+class MigrationUpgradeTest {
+
+    private static final List<String> ADDED_TABLES = List.of(
+            "transactions_seq", "daily_balances", "idempotency_keys", "archive_segments", "report_jobs");
+
+    @Test
+    void upgrades_a_database_created_before_migrations() throws SQLException {
+        DataSource dataSource = database();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO accounts (account_number, account_type, initial_balance, status, customer_id) "
+                + "VALUES ('A-1', 'CURRENT', 100.00, TRUE, 'C-1')");
+        for (int i = 0; i < 250; i++) {
+            jdbc.update("INSERT INTO transactions (date, type, amount, balance, account_id) "
+                    + "VALUES (DATE '2024-01-01', 'DEPOSIT', 1.00, 1.00, 1)");
+        }
+        jdbc.update("INSERT INTO transactions (date, type, amount, balance, account_id) "
+                + "VALUES (DATE '2024-01-02', 'DEPOSIT', 50.00, 150.00, 1)");
+        jdbc.update("INSERT INTO transactions (date, type, amount, balance, account_id) "
+                + "VALUES (DATE '2024-01-02', 'WITHDRAWAL', -30.00, 120.00, 1)");
+
+        migrate(dataSource, true);
+
+        for (String table : ADDED_TABLES) {
+            assertNotNull(jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class), table);
+        }
+        // the pooled optimizer's first block is next_val - 99 .. next_val, i.e. right after the last id
+        assertEquals(352L, jdbc.queryForObject("SELECT next_val FROM transactions_seq", Long.class));
+        assertEquals("CHECKING", jdbc.queryForObject("SELECT account_type FROM accounts", String.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM accounts", Long.class));
+        // daily balances are backfilled from the existing transactions
+        assertEquals(List.of("2024-01-01|0.00|1.00|0.00|250.00|250", "2024-01-02|100.00|120.00|30.00|50.00|2"),
+                jdbc.query("SELECT * FROM daily_balances ORDER BY date", (rs, i) -> rs.getDate("date") + "|"
+                        + rs.getBigDecimal("opening_balance") + "|" + rs.getBigDecimal("closing_balance") + "|"
+                        + rs.getBigDecimal("debit_total") + "|" + rs.getBigDecimal("credit_total") + "|"
+                        + rs.getInt("tx_count")));
+    }
+
+    @Test
+    void creates_a_new_database_with_a_single_sequence_row() {
+        DataSource dataSource = database();
+
+        migrate(dataSource, false);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(List.of(100L), jdbc.queryForList("SELECT next_val FROM transactions_seq", Long.class));
+    }
+
+    private static DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:upgrade-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void migrate(DataSource dataSource, boolean existing) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(existing)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,229 @@
+package com.bank.accounts.repository;
+
+import com.bank.accounts.model.ReportJobStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every repository query against the Flyway schema on H2 (MySQL mode), captures the SQL Hibernate
+ * generates and fails when its EXPLAIN plan reads a table without an index condition.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    // H2 prints "/* TABLE.tableScan */" when no index condition applies
+    private static final Pattern FULL_SCAN = Pattern.compile("tablescan\\s*\\*/");
+
+    // Queries that read every row on purpose (rebuild/backfill jobs)
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of("AccountRepository.findAllIds");
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private AccountRepository accountRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private DailyBalanceRepository dailyRepo;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRepo;
+
+    @Autowired
+    private ArchiveSegmentRepository segmentRepo;
+
+    @Autowired
+    private ReportJobRepository jobRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        CAPTURED.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (jdbc.queryForObject("select count(*) from accounts", Long.class) > 0) {
+            return;
+        }
+        for (long account = 1; account <= 50; account++) {
+            jdbc.update("insert into accounts (id, account_number, account_type, initial_balance, status, customer_id) "
+                    + "values (?, ?, 'SAVINGS', 100.00, true, ?)", account, "ACC-" + account, "CUS-" + account % 10);
+        }
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> daily = new ArrayList<>();
+        long id = 1;
+        for (long account = 1; account <= 50; account++) {
+            for (int day = 0; day < 90; day++) {
+                Date date = Date.valueOf(FROM.plusDays(day));
+                transactions.add(new Object[]{id++, date, "DEPOSIT", 10, 100 + 10 * (day + 1), account});
+                daily.add(new Object[]{account, date, 100 + 10 * day, 100 + 10 * (day + 1), 0, 10, 1});
+            }
+        }
+        jdbc.batchUpdate("insert into transactions (id, date, type, amount, balance, account_id) values (?, ?, ?, ?, ?, ?)",
+                transactions);
+        jdbc.batchUpdate("insert into daily_balances (account_id, date, opening_balance, closing_balance, debit_total, "
+                + "credit_total, tx_count) values (?, ?, ?, ?, ?, ?, ?)", daily);
+        for (int key = 0; key < 200; key++) {
+            jdbc.update("insert into idempotency_keys (idempotency_key, fingerprint, transaction_id, created_at) "
+                    + "values (?, 'fp', ?, ?)", "key-" + key, key + 1, Instant.parse("2025-01-01T00:00:00Z").plusSeconds(key));
+        }
+        for (long account = 1; account <= 50; account++) {
+            jdbc.update("insert into archive_segments (account_id, period_start, period_end, file_name, row_count, "
+                    + "size_bytes, created_at) values (?, ?, ?, ?, 1, 1, ?)", account, Date.valueOf(FROM.minusMonths(1)),
+                    Date.valueOf(FROM.minusDays(1)), account + "/2024-12.seg", Instant.parse("2025-01-02T00:00:00Z"));
+        }
+        for (int job = 0; job < 200; job++) {
+            jdbc.update("insert into report_jobs (id, request_key, customer_id, from_date, to_date, status, created_at, "
+                    + "completed_at) values (?, ?, ?, ?, ?, 'DONE', ?, ?)", "job-" + job, "CUS-" + job + "|" + FROM + "|" + TO,
+                    "CUS-" + job, Date.valueOf(FROM), Date.valueOf(TO), Instant.parse("2025-04-01T00:00:00Z").plusSeconds(job),
+                    Instant.parse("2025-04-01T00:01:00Z").plusSeconds(job));
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    @Test
+    void repository_queries_use_indexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("AccountRepository.findByAccountNumber", () -> accountRepo.findByAccountNumber("ACC-7"));
+        queries.put("AccountRepository.findByCustomerIdOrderById", () -> accountRepo.findByCustomerIdOrderById("CUS-3"));
+        queries.put("AccountRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> accountRepo.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(20)));
+        queries.put("AccountRepository.findAllIds", () -> accountRepo.findAllIds());
+        queries.put("AccountRepository.findVersionByCustomerId", () -> accountRepo.findVersionByCustomerId("CUS-3"));
+        queries.put("TransactionRepository.findPageByAccountId",
+                () -> txRepo.findPageByAccountId(7L, FROM, 0L, TO, Limit.of(50)));
+        queries.put("TransactionRepository.findByAccountIdsAndDateBetween",
+                () -> txRepo.findByAccountIdsAndDateBetween(List.of(3L, 13L), FROM, TO));
+        queries.put("TransactionRepository.streamByCustomerIdAndDateBetween",
+                () -> drain(txRepo.streamByCustomerIdAndDateBetween("CUS-3", FROM, TO)));
+        queries.put("TransactionRepository.streamByAccountId", () -> drain(txRepo.streamByAccountId(7L)));
+        queries.put("TransactionRepository.findViewById", () -> txRepo.findViewById(42L));
+        queries.put("TransactionRepository.streamByAccountIdAndDateAfter",
+                () -> drain(txRepo.streamByAccountIdAndDateAfter(7L, FROM)));
+        queries.put("TransactionRepository.streamByAccountIdAndDateBetween",
+                () -> drain(txRepo.streamByAccountIdAndDateBetween(7L, FROM, TO)));
+        queries.put("TransactionRepository.findFirstDateByAccountId", () -> txRepo.findFirstDateByAccountId(7L));
+        queries.put("TransactionRepository.deleteByAccountIdAndDateBetween",
+                () -> txRepo.deleteByAccountIdAndDateBetween(7L, FROM, FROM.plusDays(30)));
+        queries.put("DailyBalanceRepository.findByAccountIdInAndDate",
+                () -> dailyRepo.findByAccountIdInAndDate(List.of(3L, 13L), TO));
+        queries.put("DailyBalanceRepository.findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc",
+                () -> dailyRepo.findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc(7L, TO));
+        queries.put("DailyBalanceRepository.findFirstByAccountIdOrderByDateAsc",
+                () -> dailyRepo.findFirstByAccountIdOrderByDateAsc(7L));
+        queries.put("DailyBalanceRepository.findByAccountIdOrderByDateAsc",
+                () -> dailyRepo.findByAccountIdOrderByDateAsc(7L));
+        queries.put("DailyBalanceRepository.findByAccountIdAndDateAfterOrderByDateAsc",
+                () -> dailyRepo.findByAccountIdAndDateAfterOrderByDateAsc(7L, FROM));
+        queries.put("DailyBalanceRepository.findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc",
+                () -> dailyRepo.findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc(List.of(3L, 13L), FROM, TO));
+        queries.put("DailyBalanceRepository.findLatestOnOrBefore",
+                () -> dailyRepo.findLatestOnOrBefore(List.of(3L, 13L), TO));
+        queries.put("DailyBalanceRepository.deleteByAccountId", () -> dailyRepo.deleteByAccountId(7L));
+        queries.put("DailyBalanceRepository.deleteByAccountIdAndDateAfter",
+                () -> dailyRepo.deleteByAccountIdAndDateAfter(7L, FROM));
+        queries.put("ReportJobRepository.findFirstByRequestKeyAndStatusAndCompletedAtAfterOrderByCompletedAtDesc",
+                () -> jobRepo.findFirstByRequestKeyAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+                        "CUS-3|" + FROM + "|" + TO, ReportJobStatus.DONE, Instant.parse("2025-04-01T00:00:00Z")));
+        queries.put("ReportJobRepository.failUnfinished",
+                () -> jobRepo.failUnfinished("interrupted", Instant.parse("2025-04-02T00:00:00Z")));
+        queries.put("ReportJobRepository.deleteOlderThan",
+                () -> jobRepo.deleteOlderThan(Instant.parse("2025-04-01T00:00:30Z")));
+        queries.put("ArchiveSegmentRepository.findOverlapping",
+                () -> segmentRepo.findOverlapping(List.of(3L, 13L), FROM.minusMonths(2), TO));
+        queries.put("ArchiveSegmentRepository.findArchivedThrough", () -> segmentRepo.findArchivedThrough(7L));
+        queries.put("ArchiveSegmentRepository.existsByAccountIdAndPeriodStart",
+                () -> segmentRepo.existsByAccountIdAndPeriodStart(7L, FROM.minusMonths(1)));
+        queries.put("IdempotencyRecordRepository.deleteOlderThan",
+                () -> idempotencyRepo.deleteOlderThan(Instant.parse("2025-01-01T00:01:00Z")));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            List<String> plans = explain(query);
+            assertFalse(plans.isEmpty(), name + " issued no statement");
+            for (String plan : plans) {
+                if (!FULL_SCAN_ALLOWED.contains(name) && FULL_SCAN.matcher(plan.toLowerCase(Locale.ROOT)).find()) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(failures.isEmpty(), "Full table scans:\n\n" + String.join("\n\n", failures));
+    }
+
+    // Runs the query in a rolled-back transaction and returns the EXPLAIN output of each statement it issued
+    private List<String> explain(Runnable query) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        CAPTURED.clear();
+        tx.executeWithoutResult(status -> {
+            query.run();
+            status.setRollbackOnly();
+        });
+        List<String> statements = List.copyOf(CAPTURED);
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).matches("^(select|update|delete)\\b[\\s\\S]*"))
+                .map(sql -> jdbc.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                        rs -> rs.next() ? rs.getString(1) : ""))
+                .toList();
+    }
+
+    private static void drain(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.listener.CustomerDirectory;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountServiceTest {
+
+    @Mock
+    private AccountRepository repository;
+
+    @Mock
+    private AccountCache cache;
+
+    @Mock
+    private ReportCache reportCache;
+
+    private final CustomerDirectory customers = new CustomerDirectory(1 << 20, 16, 1024, 0.01,
+            new SimpleMeterRegistry());
+
+    private AccountService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(repository.save(any())).thenAnswer(inv -> {
+            Account account = inv.getArgument(0);
+            account.setId(1L);
+            return account;
+        });
+        service = new AccountService(repository, cache, reportCache, customers);
+    }
+
+    @Test
+    void active_customer_gets_the_account() {
+        UUID id = UUID.randomUUID();
+        customers.put(id, true);
+
+        Account saved = service.create(account(id.toString()));
+
+        assertNotNull(saved.getAccountNumber());
+        verify(reportCache).invalidateCustomer(id.toString());
+    }
+
+    @Test
+    void unknown_customer_is_rejected() {
+        String id = UUID.randomUUID().toString();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.create(account(id)));
+
+        assertEquals("Unknown customer: " + id, ex.getMessage());
+        verifyNoInteractions(repository, cache, reportCache);
+    }
+
+    @Test
+    void inactive_customer_is_rejected() {
+        UUID id = UUID.randomUUID();
+        customers.put(id, false);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.create(account(id.toString())));
+
+        assertEquals("Inactive customer: " + id, ex.getMessage());
+        verify(repository, never()).save(any());
+    }
+
+    private static Account account(String customerId) {
+        Account account = new Account();
+        account.setCustomerId(customerId);
+        return account;
+    }
+}
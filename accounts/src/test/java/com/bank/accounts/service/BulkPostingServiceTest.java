@@ -0,0 +1,204 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.exception.PostingTimeoutException;
+import com.bank.accounts.exception.ServiceBusyException;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.Transaction;
+import com.bank.accounts.model.TransactionType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkPostingServiceTest {
+
+    @Mock
+    private PostingEngine engine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(engine.submit(anyString(), any(), any())).thenAnswer(inv -> CompletableFuture.completedFuture(
+                transaction(inv.getArgument(0), inv.getArgument(2))));
+        when(engine.await(any())).thenAnswer(inv -> {
+            try {
+                return inv.<CompletableFuture<?>>getArgument(0).join();
+            } catch (CompletionException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+
+    @Test
+    void posts_every_element_of_a_json_array() throws IOException {
+        List<JsonNode> results = ingest(new BulkPostingService(engine, objectMapper, 16), """
+                [
+                  {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 10},
+                  {"accountNumber": "A-2", "type": "WITHDRAWAL", "amount": 2.50}
+                ]
+                """);
+
+        assertEquals(2, results.size());
+        assertResult(results.get(0), 0, BulkPostingService.POSTED);
+        assertResult(results.get(1), 1, BulkPostingService.POSTED);
+        verify(engine).submit("A-1", TransactionType.DEPOSIT, Money.parse("10"));
+        verify(engine).submit("A-2", TransactionType.WITHDRAWAL, Money.parse("2.50"));
+    }
+
+    @Test
+    void accepts_an_empty_array() throws IOException {
+        assertTrue(ingest(new BulkPostingService(engine, objectMapper, 16), "[ ]").isEmpty());
+        verifyNoInteractions(engine);
+    }
+
+    @Test
+    void posts_every_line_of_an_ndjson_body() throws IOException {
+        List<JsonNode> results = ingest(new BulkPostingService(engine, objectMapper, 16), """
+                {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 10}
+                {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 20}
+                {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 30}
+                """);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertResult(results.get(i), i, BulkPostingService.POSTED);
+        }
+    }
+
+    @Test
+    void reports_invalid_and_rejected_postings_in_input_order() throws IOException {
+        when(engine.submit(eq("BUSY"), any(), any())).thenThrow(new ServiceBusyException("Posting queue is full"));
+
+        List<JsonNode> results = ingest(new BulkPostingService(engine, objectMapper, 16), """
+                {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 10}
+                {"accountNumber": "A-1", "type": "DEPOSIT"}
+                {"accountNumber": "BUSY", "type": "DEPOSIT", "amount": 10}
+                """);
+
+        assertResult(results.get(0), 0, BulkPostingService.POSTED);
+        assertResult(results.get(1), 1, BulkPostingService.INVALID);
+        assertResult(results.get(2), 2, BulkPostingService.REJECTED);
+        assertEquals("Posting queue is full", results.get(2).get("message").asText());
+    }
+
+    @Test
+    void posting_still_pending_at_the_timeout_is_reported_as_unknown_not_rejected() throws IOException {
+        CompletableFuture<Transaction> slow = new CompletableFuture<>();
+        when(engine.submit(eq("SLOW"), any(), any())).thenReturn(slow);
+        doThrow(new PostingTimeoutException("Timed out waiting for the posting to commit")).when(engine).await(slow);
+
+        List<JsonNode> results = ingest(new BulkPostingService(engine, objectMapper, 16), """
+                {"accountNumber": "SLOW", "type": "DEPOSIT", "amount": 10}
+                {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 10}
+                """);
+
+        assertResult(results.get(0), 0, BulkPostingService.UNKNOWN);
+        assertResult(results.get(1), 1, BulkPostingService.POSTED);
+        verify(engine, times(2)).await(any());
+    }
+
+    @Test
+    void stops_at_a_malformed_element_after_answering_the_ones_before_it() throws IOException {
+        List<JsonNode> results = ingest(new BulkPostingService(engine, objectMapper, 16), """
+                [
+                  {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 10},
+                  {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 20},
+                  {"accountNumber": "A-1", "type": "TRANSFER", "amount": 30},
+                  {"accountNumber": "A-1", "type": "DEPOSIT", "amount": 40}
+                ]
+                """);
+
+        assertEquals(3, results.size());
+        assertResult(results.get(0), 0, BulkPostingService.POSTED);
+        assertResult(results.get(1), 1, BulkPostingService.POSTED);
+        assertResult(results.get(2), 2, BulkPostingService.INVALID);
+        assertTrue(results.get(2).get("message").asText().startsWith("Malformed posting"));
+        verify(engine, times(2)).submit(anyString(), any(), any());
+    }
+
+    @Test
+    void holds_at_most_max_in_flight_postings() throws Exception {
+        List<CompletableFuture<Transaction>> futures = new CopyOnWriteArrayList<>();
+        when(engine.submit(anyString(), any(), any())).thenAnswer(inv -> {
+            CompletableFuture<Transaction> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            body.append("{\"accountNumber\": \"A-1\", \"type\": \"DEPOSIT\", \"amount\": 1}\n");
+        }
+
+        BulkPostingService service = new BulkPostingService(engine, objectMapper, 3);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<JsonNode>> results = caller.submit(() -> ingest(service, body.toString()));
+
+            // the reader stops once three postings are pending and resumes as the oldest completes
+            verify(engine, timeout(5000).times(3)).submit(anyString(), any(), any());
+            verify(engine, after(200).times(3)).submit(anyString(), any(), any());
+            futures.get(0).complete(transaction("A-1", Money.parse("1")));
+            verify(engine, timeout(5000).times(4)).submit(anyString(), any(), any());
+
+            for (int i = 1; i < 10; i++) {
+                verify(engine, timeout(5000).times(Math.min(10, i + 3))).submit(anyString(), any(), any());
+                futures.get(i).complete(transaction("A-1", Money.parse("1")));
+            }
+            assertEquals(10, results.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    private List<JsonNode> ingest(BulkPostingService service, String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private static void assertResult(JsonNode result, long index, String status) {
+        assertEquals(index, result.get("index").asLong());
+        assertEquals(status, result.get("status").asText(), result.toString());
+    }
+
+    private Transaction transaction(String accountNumber, Money amount) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        Transaction tx = new Transaction();
+        tx.setId(nextId++);
+        tx.setAccount(account);
+        tx.setAmount(amount);
+        tx.setBalance(amount);
+        return tx;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.exception.IdempotencyConflictException;
+import com.bank.accounts.exception.ServiceBusyException;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.repository.IdempotencyRecordRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private IdempotencyStore store;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+        store = new IdempotencyStore(recordRepo, txRepo, clock, 2, Duration.ofHours(1), false);
+    }
+
+    @Test
+    void retry_with_same_key_returns_original_without_posting_again() {
+        TransactionView first = execute("key-1", "100");
+        TransactionView retry = execute("key-1", "100.00");
+
+        assertSame(first, retry);
+        assertEquals(1, calls.get());
+        verifyNoInteractions(recordRepo, txRepo);
+    }
+
+    @Test
+    void same_key_with_different_request_is_rejected() {
+        execute("key-1", "100");
+
+        assertThrows(IdempotencyConflictException.class, () -> execute("key-1", "200"));
+    }
+
+    @Test
+    void store_is_bounded_by_max_entries() {
+        execute("key-1", "1");
+        execute("key-2", "1");
+        execute("key-3", "1");
+
+        assertEquals(2, store.size());
+        execute("key-1", "1");
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void retry_while_the_posting_is_queued_waits_for_the_same_posting() {
+        CompletableFuture<TransactionView> queued = new CompletableFuture<>();
+        CompletableFuture<TransactionView> first = submit("key-1", "100", queued);
+        CompletableFuture<TransactionView> retry = submit("key-1", "100", new CompletableFuture<>());
+
+        assertFalse(retry.isDone());
+        TransactionView tx = view("100");
+        queued.complete(tx);
+
+        assertSame(tx, first.join());
+        assertSame(tx, retry.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void rejected_posting_releases_the_key() {
+        CompletableFuture<TransactionView> queued = new CompletableFuture<>();
+        CompletableFuture<TransactionView> first = submit("key-1", "100", queued);
+        queued.completeExceptionally(new IllegalArgumentException("Insufficient balance"));
+
+        CompletionException ex = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertEquals(0, store.size());
+        assertEquals(view("100").amount(), execute("key-1", "100").amount());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void posting_that_was_never_queued_releases_the_key() {
+        assertThrows(ServiceBusyException.class, () -> store.execute("key-1", "12345", TransactionType.DEPOSIT,
+                Money.parse("100"), persistedKey -> {
+                    throw new ServiceBusyException("Posting queue is full");
+                }));
+
+        assertEquals(0, store.size());
+        execute("key-1", "100");
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void entries_still_in_flight_are_not_evicted() {
+        CompletableFuture<TransactionView> queued = new CompletableFuture<>();
+        submit("key-1", "1", queued);
+        submit("key-2", "1", new CompletableFuture<>());
+        execute("key-3", "1");
+
+        // the map overflows rather than drop key-1 or key-2 while their postings are queued
+        assertEquals(3, store.size());
+        submit("key-1", "1", new CompletableFuture<>());
+        assertEquals(3, calls.get());
+
+        queued.complete(view("1"));
+        execute("key-4", "1");
+        execute("key-1", "1");
+        assertEquals(5, calls.get());
+    }
+
+    private TransactionView execute(String key, String amount) {
+        return submit(key, amount, CompletableFuture.completedFuture(view(amount))).join();
+    }
+
+    private CompletableFuture<TransactionView> submit(String key, String amount,
+                                                      CompletableFuture<TransactionView> posting) {
+        return store.execute(key, "12345", TransactionType.DEPOSIT, Money.parse(amount), persistedKey -> {
+            assertNull(persistedKey);
+            calls.incrementAndGet();
+            return posting;
+        });
+    }
+
+    private static TransactionView view(String amount) {
+        return new TransactionView(1L, 1L, "12345", null, TransactionType.DEPOSIT, Money.parse(amount), null);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.AccountsVersion;
+import com.bank.accounts.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportCacheTest {
+
+    private static final String V1 = "W/\"1-1\"";
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final LocalDate may1 = LocalDate.of(2025, 5, 1);
+    private final LocalDate may31 = LocalDate.of(2025, 5, 31);
+    private final LocalDate jun1 = LocalDate.of(2025, 6, 1);
+    private final LocalDate jun30 = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private Clock clock;
+
+    private Instant now = Instant.parse("2025-06-15T10:00:00Z");
+
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(reportService.getReport(any(), any(), anyString()))
+                .thenAnswer(inv -> List.of(AccountReportDTO.builder().accountNumber(inv.getArgument(2)).build()));
+
+        when(reportService.getReportFromPrimary(any(), any(), anyString()))
+                .thenAnswer(inv -> List.of(AccountReportDTO.builder().accountNumber(inv.getArgument(2)).build()));
+
+        when(clock.instant()).thenAnswer(inv -> now);
+        when(clock.millis()).thenAnswer(inv -> now.toEpochMilli());
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        cache = new ReportCache(reportService, accountRepo, 1000, Duration.ofMinutes(10), Duration.ofSeconds(15),
+                registry, clock);
+    }
+
+    @Test
+    void repeated_request_is_served_from_cache() {
+        List<AccountReportDTO> first = cache.getReport(may1, may31, "C-1", V1);
+        List<AccountReportDTO> second = cache.getReport(may1, may31, "C-1", V1);
+
+        assertSame(first, second);
+        verify(reportService, times(1)).getReport(may1, may31, "C-1");
+        assertEquals(0.5, registry.get("accounts.reports.cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void invalidation_evicts_every_range_of_that_customer_closed_ones_too() {
+        cache.getReport(may1, may31, "C-1", V1);
+        cache.getReport(jun1, jun30, "C-1", V1);
+        cache.getReport(jun1, jun30, "C-2", V1);
+
+        cache.invalidateCustomer("C-1");
+
+        assertEquals(1, cache.size());
+        cache.getReport(may1, may31, "C-1", V1);
+        cache.getReport(jun1, jun30, "C-2", V1);
+        verify(reportService, times(1)).getReport(may1, may31, "C-1");
+        verify(reportService, times(1)).getReportFromPrimary(may1, may31, "C-1");
+        verify(reportService, times(1)).getReport(jun1, jun30, "C-2");
+    }
+
+    @Test
+    void fills_go_back_to_the_replica_once_the_primary_read_window_has_passed() {
+        cache.invalidateCustomer("C-1");
+        cache.getReport(may1, may31, "C-1", V1);
+
+        cache.invalidateCustomer("C-1");
+        now = now.plusSeconds(15);
+        cache.getReport(may1, may31, "C-1", V1);
+
+        verify(reportService, times(1)).getReportFromPrimary(may1, may31, "C-1");
+        verify(reportService, times(1)).getReport(may1, may31, "C-1");
+    }
+
+    @Test
+    void report_computed_across_an_invalidation_is_not_cached() {
+        when(reportService.getReport(jun1, jun30, "C-1")).thenAnswer(inv -> {
+            cache.invalidateCustomer("C-1");
+            return List.of(AccountReportDTO.builder().accountNumber("stale").build());
+        });
+
+        cache.getReport(jun1, jun30, "C-1", V1);
+        cache.getReport(jun1, jun30, "C-1", V1);
+
+        verify(reportService, times(1)).getReport(jun1, jun30, "C-1");
+        verify(reportService, times(1)).getReportFromPrimary(jun1, jun30, "C-1");
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void changed_etag_is_never_served_an_older_body() {
+        cache.getReport(jun1, jun30, "C-1", V1);
+        cache.getReport(jun1, jun30, "C-1", "W/\"1-2\"");
+
+        verify(reportService, times(2)).getReport(jun1, jun30, "C-1");
+    }
+
+    @Test
+    void etag_follows_postings() {
+        when(accountRepo.findVersionByCustomerId("C-1")).thenReturn(new AccountsVersion(2L, 7L), new AccountsVersion(2L, 9L));
+
+        assertEquals("W/\"2-7\"", cache.eTag("C-1"));
+        assertEquals("W/\"2-9\"", cache.eTag("C-1"));
+    }
+
+    @Test
+    void etag_follows_new_accounts() {
+        when(accountRepo.findVersionByCustomerId("C-1")).thenReturn(new AccountsVersion(2L, 7L), new AccountsVersion(3L, 7L));
+
+        assertNotEquals(cache.eTag("C-1"), cache.eTag("C-1"));
+    }
+}
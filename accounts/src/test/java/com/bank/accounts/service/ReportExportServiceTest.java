@@ -0,0 +1,121 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.Account;
+import com.bank.accounts.model.ArchiveSegment;
+import com.bank.accounts.model.Money;
+import com.bank.accounts.model.TransactionType;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportExportServiceTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Mock
+    private ArchiveStore archive;
+
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 12, 31);
+
+    private final List<String> events = new ArrayList<>();
+
+    private ReportExportService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(accountRepo.findByCustomerIdOrderById("C-1")).thenReturn(List.of(
+                Account.builder().id(1L).accountNumber("A-1").build(),
+                Account.builder().id(2L).accountNumber("A-2").build()));
+        when(archive.findSegments(anyCollection(), eq(from), eq(to))).thenReturn(List.of(
+                segment(1L, LocalDate.of(2024, 1, 1)),
+                segment(1L, LocalDate.of(2024, 2, 1)),
+                segment(2L, LocalDate.of(2024, 1, 1))));
+        when(archive.read(any(), anyString(), eq(from), eq(to))).thenAnswer(inv -> {
+            ArchiveSegment segment = inv.getArgument(0);
+            events.add("read " + inv.getArgument(1) + " " + segment.getPeriodStart());
+            return List.of(row(segment.getAccountId(), inv.getArgument(1), segment.getPeriodStart()));
+        });
+        when(txRepo.streamByCustomerIdAndDateBetween("C-1", from, to)).thenReturn(Stream.of(
+                        row(1L, "A-1", LocalDate.of(2025, 3, 1)),
+                        row(2L, "A-2", LocalDate.of(2025, 3, 2)))
+                .peek(tx -> events.add("hot " + tx.accountNumber() + " " + tx.date())));
+
+        service = new ReportExportService(accountRepo, txRepo, archive, new ObjectMapper());
+    }
+
+    @Test
+    void archived_segments_are_read_one_at_a_time_as_the_walk_reaches_their_account() throws IOException {
+        service.export(from, to, "C-1", ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        assertEquals(List.of(
+                "hot A-1 2025-03-01",
+                "read A-1 2024-01-01",
+                "read A-1 2024-02-01",
+                "hot A-2 2025-03-02",
+                "read A-2 2024-01-01"), events);
+        verify(archive, never()).findByAccountsAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void each_account_lists_its_archived_rows_before_its_hot_rows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(from, to, "C-1", ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(List.of(
+                "accountNumber,date,type,amount,balance",
+                "A-1,2024-01-01,DEPOSIT,1.00,1.00",
+                "A-1,2024-02-01,DEPOSIT,1.00,1.00",
+                "A-1,2025-03-01,DEPOSIT,1.00,1.00",
+                "A-2,2024-01-01,DEPOSIT,1.00,1.00",
+                "A-2,2025-03-02,DEPOSIT,1.00,1.00"), lines);
+    }
+
+    @Test
+    void archived_accounts_without_hot_rows_are_still_exported() throws IOException {
+        when(txRepo.streamByCustomerIdAndDateBetween("C-1", from, to)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(from, to, "C-1", ExportFormat.CSV, out);
+
+        assertEquals(4, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    private static ArchiveSegment segment(long accountId, LocalDate periodStart) {
+        return ArchiveSegment.builder()
+                .accountId(accountId)
+                .periodStart(periodStart)
+                .periodEnd(periodStart.plusMonths(1).minusDays(1))
+                .build();
+    }
+
+    private static TransactionView row(long accountId, String accountNumber, LocalDate date) {
+        return new TransactionView(null, accountId, accountNumber, date, TransactionType.DEPOSIT,
+                Money.ofMinor(100), Money.ofMinor(100));
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.ReportJobDTO;
+import com.bank.accounts.exception.ServiceBusyException;
+import com.bank.accounts.model.ReportJob;
+import com.bank.accounts.model.ReportJobStatus;
+import com.bank.accounts.repository.ReportJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @Mock
+    private ReportJobRepository repository;
+
+    private final Map<String, ReportJob> rows = new ConcurrentHashMap<>();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    private ReportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(repository.save(any())).thenAnswer(inv -> {
+            ReportJob job = inv.getArgument(0);
+            rows.put(job.getId(), job);
+            return job;
+        });
+        when(repository.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<String>getArgument(0))));
+        doAnswer(inv -> rows.remove(inv.<ReportJob>getArgument(0).getId())).when(repository).delete(any());
+        when(reportService.getReportFromPrimary(any(), any(), anyString())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(AccountReportDTO.builder().accountNumber("A-1").build());
+        });
+
+        when(reportCache.eTag("C-1")).thenReturn("W/\"1-5\"");
+
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC);
+        service = new ReportJobService(reportService, reportCache, repository, new ObjectMapper(), new SimpleMeterRegistry(),
+                clock, 1, 1, Duration.ofHours(24), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.stop();
+    }
+
+    @Test
+    void identical_requests_share_one_computation() throws InterruptedException {
+        ReportJobDTO first = service.submit(from, to, "C-1");
+        ReportJobDTO second = service.submit(from, to, "C-1");
+
+        assertEquals(first.getId(), second.getId());
+        assertNull(first.getResult());
+
+        release.countDown();
+        ReportJobDTO done = awaitDone(first.getId());
+        assertTrue(done.getResult().contains("\"accountNumber\":\"A-1\""));
+        verify(reportService, times(1)).getReportFromPrimary(from, to, "C-1");
+    }
+
+    @Test
+    void unchanged_accounts_reuse_the_stored_result() throws InterruptedException {
+        ReportJob done = completedJob();
+
+        ReportJobDTO again = service.submit(from, to, "C-1");
+
+        assertEquals(done.getId(), again.getId());
+        assertEquals(ReportJobStatus.DONE, again.getStatus());
+        verify(reportService, times(1)).getReportFromPrimary(any(), any(), anyString());
+    }
+
+    @Test
+    void posting_after_the_result_was_stored_computes_a_new_one() throws InterruptedException {
+        ReportJob done = completedJob();
+        when(reportCache.eTag("C-1")).thenReturn("W/\"1-6\"");
+
+        ReportJobDTO again = service.submit(from, to, "C-1");
+
+        assertNotEquals(done.getId(), again.getId());
+        awaitDone(again.getId());
+        verify(reportService, times(2)).getReportFromPrimary(from, to, "C-1");
+    }
+
+    @Test
+    void full_queue_is_rejected() {
+        service.submit(from, to, "C-1");
+        waitUntilRunning();
+        service.submit(from, to, "C-2");
+
+        assertThrows(ServiceBusyException.class, () -> service.submit(from, to, "C-3"));
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    void rejects_inverted_range() {
+        assertThrows(IllegalArgumentException.class, () -> service.submit(to, from, "C-1"));
+        verifyNoInteractions(repository);
+    }
+
+    // a finished job the repository hands back for its own request key, as the reuse query would
+    private ReportJob completedJob() throws InterruptedException {
+        ReportJobDTO first = service.submit(from, to, "C-1");
+        release.countDown();
+        ReportJob done = rows.get(awaitDone(first.getId()).getId());
+        when(repository.findFirstByRequestKeyAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+                eq(done.getRequestKey()), eq(ReportJobStatus.DONE), any())).thenReturn(Optional.of(done));
+        return done;
+    }
+
+    private void waitUntilRunning() {
+        verify(reportService, timeout(5000)).getReportFromPrimary(any(), any(), anyString());
+    }
+
+    private ReportJobDTO awaitDone(String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ReportJobDTO job = service.find(id);
+            if (job.getStatus() == ReportJobStatus.DONE) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("job " + id + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.bank.accounts.service;
+
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.AccountReportDTO;
+import com.bank.accounts.dto.TransactionDTO;
+import com.bank.accounts.dto.TransactionView;
+import com.bank.accounts.model.*;
+import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.DailyBalanceRepository;
+import com.bank.accounts.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportServiceTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Mock
+    private DailyBalanceRepository dailyRepo;
+
+    @Mock
+    private ArchiveStore archive;
+
+    @InjectMocks
+    private ReportService service;
+
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void report_uses_fixed_number_of_queries_regardless_of_account_count() {
+        Account savings = account(1L, "A-1", "1000");
+        Account checking = account(2L, "A-2", "50");
+        List<Long> ids = List.of(1L, 2L);
+
+        when(accountRepo.findByCustomerIdOrderById("C-1")).thenReturn(List.of(savings, checking));
+        when(dailyRepo.findLatestOnOrBefore(ids, to)).thenReturn(List.of(
+                day(1L, LocalDate.of(2025, 1, 10), "1000", "1200", "0", "200", 1)));
+        when(dailyRepo.findByAccountIdInAndDateBetweenOrderByAccountIdAscDateAsc(ids, from, to)).thenReturn(List.of(
+                day(1L, LocalDate.of(2025, 1, 10), "1000", "1200", "0", "200", 1)));
+        when(txRepo.findByAccountIdsAndDateBetween(ids, from, to)).thenReturn(List.of(
+                tx(savings, "200", "1200")));
+
+        List<AccountReportDTO> report = service.getReport(from, to, "C-1");
+
+        assertEquals(2, report.size());
+        assertEquals(Money.parse("1200"), report.get(0).getCurrentBalance());
+        assertEquals(Money.parse("200"), report.get(0).getTotalCredits());
+        assertEquals(1, report.get(0).getTransactionCount());
+        assertEquals(1, report.get(0).getTransactions().size());
+        assertEquals(Money.parse("50"), report.get(1).getCurrentBalance());
+        assertEquals(0, report.get(1).getTransactionCount());
+        assertTrue(report.get(1).getTransactions().isEmpty());
+
+        verify(accountRepo, never()).findAll();
+        verify(dailyRepo, times(1)).findLatestOnOrBefore(anyCollection(), any());
+        verify(txRepo, times(1)).findByAccountIdsAndDateBetween(anyCollection(), any(), any());
+        verifyNoMoreInteractions(txRepo);
+    }
+
+    @Test
+    void archived_rows_precede_hot_rows_of_the_same_account() {
+        Account savings = account(1L, "A-1", "1000");
+        List<Long> ids = List.of(1L);
+        TransactionView archived = new TransactionView(1L, 1L, "A-1", from, TransactionType.DEPOSIT,
+                Money.parse("100"), Money.parse("1100"));
+        TransactionView hot = new TransactionView(2L, 1L, "A-1", to, TransactionType.DEPOSIT,
+                Money.parse("100"), Money.parse("1200"));
+
+        when(accountRepo.findByCustomerIdOrderById("C-1")).thenReturn(List.of(savings));
+        when(archive.findByAccountsAndDateBetween(Map.of(1L, "A-1"), from, to)).thenReturn(Map.of(1L, List.of(archived)));
+        when(txRepo.findByAccountIdsAndDateBetween(ids, from, to)).thenReturn(List.of(hot));
+
+        List<AccountReportDTO> report = service.getReport(from, to, "C-1");
+
+        assertEquals(List.of(from, to), report.get(0).getTransactions().stream().map(TransactionDTO::getDate).toList());
+    }
+
+    @Test
+    void customer_without_accounts_skips_transaction_query() {
+        when(accountRepo.findByCustomerIdOrderById("C-2")).thenReturn(List.of());
+
+        assertTrue(service.getReport(from, to, "C-2").isEmpty());
+        verifyNoInteractions(txRepo, dailyRepo);
+    }
+
+    private Account account(Long id, String number, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountNumber(number);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setInitialBalance(Money.parse(balance));
+        account.setStatus(true);
+        account.setCustomerId("C-1");
+        return account;
+    }
+
+    private DailyBalance day(Long accountId, LocalDate date, String opening, String closing,
+                             String debits, String credits, int count) {
+        return DailyBalance.builder()
+                .accountId(accountId)
+                .date(date)
+                .openingBalance(Money.parse(opening))
+                .closingBalance(Money.parse(closing))
+                .debitTotal(Money.parse(debits))
+                .creditTotal(Money.parse(credits))
+                .txCount(count)
+                .build();
+    }
+
+    private TransactionView tx(Account account, String amount, String balance) {
+        return new TransactionView(1L, account.getId(), account.getAccountNumber(), from,
+                TransactionType.DEPOSIT, Money.parse(amount), Money.parse(balance));
+    }
+}
@@ -1,19 +1,40 @@
 package com.bank.accounts.service;
 
+import com.bank.accounts.archive.ArchiveStore;
+import com.bank.accounts.dto.TransactionView;
 import com.bank.accounts.exception.InsufficientBalanceException;
 import com.bank.accounts.exception.NotFoundException;
+import com.bank.accounts.exception.PostingTimeoutException;
 import com.bank.accounts.model.Account;
+import com.bank.accounts.model.AccountSnapshot;
+import com.bank.accounts.model.Money;
 import com.bank.accounts.model.Transaction;
 import com.bank.accounts.model.TransactionType;
 import com.bank.accounts.repository.AccountRepository;
+import com.bank.accounts.repository.IdempotencyRecordRepository;
 import com.bank.accounts.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class TransactionServiceTest {
@@ -24,7 +45,32 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository txRepo;
 
-    @InjectMocks
+    @Mock
+    private DailyBalanceService dailyBalances;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRepo;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private ArchiveStore archive;
+
+    @Mock
+    private ReportCache reportCache;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private LedgerWriter writer;
+
+    private IdempotencyStore idempotency;
+
+    private PostingEngine engine;
+
     private TransactionService service;
 
     private Account account;
@@ -33,49 +79,154 @@ class TransactionServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         account = new Account();
+        account.setId(1L);
         account.setAccountNumber("12345");
-        account.setInitialBalance(BigDecimal.valueOf(1000));
+        account.setCustomerId("C-1");
+        account.setInitialBalance(Money.parse("1000"));
         account.setStatus(true);
 
-        // si tu repo devuelve el Transaction guardado, devolvemos el mismo argumento
-        when(txRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountService.findSnapshot("12345")).thenReturn(AccountSnapshot.of(account));
+
+        writer = new LedgerWriter(accountRepo, txRepo, dailyBalances, idempotencyRepo, accountCache, registry);
+        engine = new PostingEngine(writer, accountService, reportCache, 2, 64, 1000, 1000, 5000);
+        engine.start();
+        idempotency = new IdempotencyStore(idempotencyRepo, txRepo, Clock.systemUTC(), 100, Duration.ofHours(1),
+                false);
+        service = new TransactionService(txRepo, engine, accountService, archive, idempotency);
+
+        // si tu repo devuelve los Transaction guardados, devolvemos el mismo argumento
+        when(txRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
     }
 
     @Test
     void deposit_updates_balance_and_persists_transaction() {
-        when(accountRepo.findByAccountNumber("12345")).thenReturn(Optional.of(account));
-        when(accountRepo.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepo.findAllById(anyIterable())).thenReturn(List.of(account));
 
-        Transaction tx = service.register("12345", TransactionType.DEPOSIT, BigDecimal.valueOf(500));
+        TransactionView tx = service.register("12345", TransactionType.DEPOSIT, Money.parse("500"));
 
         assertNotNull(tx);
-        assertEquals(TransactionType.DEPOSIT, tx.getType());
-        assertEquals(new BigDecimal("1500"), account.getInitialBalance());
-        assertEquals(new BigDecimal("1500"), tx.getBalance());
-        verify(txRepo, times(1)).save(any(Transaction.class));
-        verify(accountRepo, times(1)).save(account);
+        assertEquals("12345", tx.accountNumber());
+        assertEquals(TransactionType.DEPOSIT, tx.type());
+        assertEquals(Money.parse("1500"), account.getInitialBalance());
+        assertEquals(Money.parse("1500"), tx.balance());
+        verify(txRepo, times(1)).saveAll(anyList());
+        verify(accountRepo, times(1)).saveAll(anyCollection());
+        verify(dailyBalances, times(1)).recordAll(argThat(txs -> txs.size() == 1
+                && txs.get(0).getBalance().equals(Money.parse("1500"))));
+        verify(reportCache).invalidateCustomer("C-1");
     }
 
     @Test
     void withdrawal_with_insufficient_balance_throws() {
-        when(accountRepo.findByAccountNumber("12345")).thenReturn(Optional.of(account));
+        when(accountRepo.findAllById(anyIterable())).thenReturn(List.of(account));
 
         assertThrows(InsufficientBalanceException.class,
-                () -> service.register("12345", TransactionType.WITHDRAWAL, BigDecimal.valueOf(2000)));
+                () -> service.register("12345", TransactionType.WITHDRAWAL, Money.parse("2000")));
 
-        verify(txRepo, never()).save(any(Transaction.class));
-        verify(accountRepo, never()).save(any(Account.class));
+        verify(txRepo, never()).saveAll(anyList());
+        verify(accountRepo, never()).saveAll(anyCollection());
+        verify(reportCache, never()).invalidateCustomer(anyString());
+        assertEquals(1.0, registry.get("accounts.postings.insufficient-balance").counter().count());
     }
 
     @Test
     void unknown_account_throws_NotFound() {
-        when(accountRepo.findByAccountNumber("999")).thenReturn(Optional.empty());
+        when(accountService.findSnapshot("999")).thenThrow(new NotFoundException("Account not found"));
 
         NotFoundException ex = assertThrows(NotFoundException.class,
-                () -> service.register("999", TransactionType.DEPOSIT, BigDecimal.TEN));
+                () -> service.register("999", TransactionType.DEPOSIT, Money.parse("10")));
 
         assertEquals("Account not found", ex.getMessage());
-        verify(txRepo, never()).save(any(Transaction.class));
-        verify(accountRepo, never()).save(any(Account.class));
+        verify(txRepo, never()).saveAll(anyList());
+        verify(accountRepo, never()).saveAll(anyCollection());
+        verify(accountRepo, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void concurrent_postings_on_one_account_match_serial_execution() throws Exception {
+        when(accountRepo.findAllById(anyIterable())).thenReturn(List.of(account));
+
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Transaction>>> results = IntStream.range(0, threads)
+                    .mapToObj(t -> callers.submit(() -> {
+                        start.await();
+                        return IntStream.range(0, perThread)
+                                .mapToObj(i -> engine.post(null, "12345", TransactionType.DEPOSIT, Money.parse("1")))
+                                .toList();
+                    }))
+                    .toList();
+            start.countDown();
+
+            List<Money> balances = new ArrayList<>();
+            for (Future<List<Transaction>> result : results) {
+                result.get(10, TimeUnit.SECONDS).forEach(tx -> balances.add(tx.getBalance()));
+            }
+
+            // every posting saw a distinct running balance, as if they had run one after another
+            assertEquals(threads * perThread, new HashSet<>(balances).size());
+            assertEquals(Money.parse("1400"), account.getInitialBalance());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyed_retry_after_a_timeout_gets_the_original_posting_instead_of_a_second_one() throws Exception {
+        CountDownLatch commit = new CountDownLatch(1);
+        when(accountRepo.findAllById(anyIterable())).thenAnswer(inv -> {
+            commit.await(5, TimeUnit.SECONDS);
+            return List.of(account);
+        });
+        PostingEngine slow = new PostingEngine(writer, accountService, reportCache, 1, 64, 1000, 1000, 100);
+        slow.start();
+        try {
+            TransactionService keyed = new TransactionService(txRepo, slow, accountService, archive, idempotency);
+
+            assertThrows(PostingTimeoutException.class,
+                    () -> keyed.register("key-1", "12345", TransactionType.DEPOSIT, Money.parse("500")));
+            commit.countDown();
+            TransactionView retry = keyed.register("key-1", "12345", TransactionType.DEPOSIT, Money.parse("500"));
+
+            assertEquals(Money.parse("1500"), retry.balance());
+            assertEquals(Money.parse("1500"), account.getInitialBalance());
+            verify(txRepo, times(1)).saveAll(anyList());
+        } finally {
+            slow.stop();
+        }
+    }
+
+    @Test
+    void lane_waits_while_work_holds_it() throws Exception {
+        when(accountRepo.findAllById(anyIterable())).thenReturn(List.of(account));
+        CompletableFuture<Transaction> posting = engine.withLane(1L, () -> {
+            CompletableFuture<Transaction> queued = engine.submit("12345", TransactionType.DEPOSIT, Money.parse("5"));
+            verify(accountRepo, after(200).never()).findAllById(anyIterable());
+            return queued;
+        });
+
+        assertEquals(Money.parse("1005"), posting.get(5, TimeUnit.SECONDS).getBalance());
+    }
+
+    @Test
+    void lane_keeps_draining_after_an_error_in_the_writer() {
+        when(accountRepo.findAllById(anyIterable()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(List.of(account));
+
+        CompletableFuture<Transaction> failed = engine.submit("12345", TransactionType.DEPOSIT, Money.parse("5"));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, ex.getCause());
+
+        Transaction tx = engine.post(null, "12345", TransactionType.DEPOSIT, Money.parse("5"));
+        assertEquals(Money.parse("1005"), tx.getBalance());
     }
 }
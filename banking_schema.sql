@@ -1,4 +1,7 @@
 
+-- Referencia del esquema final. Cada servicio crea y actualiza sus tablas con las
+-- migraciones Flyway de src/main/resources/db/migration al arrancar.
+
 -- ======================================================
 -- Base de datos: bank_customers
 -- ======================================================
@@ -16,7 +19,17 @@ CREATE TABLE customers (
     age INT CHECK (age >= 0),
     identification VARCHAR(50) NOT NULL,
     address VARCHAR(150) NOT NULL,
-    phone_number VARCHAR(20) NOT NULL
+    phone_number VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Tabla: outbox_events (eventos pendientes de publicar en RabbitMQ)
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
 );
 
 -- ======================================================
@@ -29,21 +42,85 @@ USE bank_accounts;
 CREATE TABLE accounts (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     account_number VARCHAR(100) NOT NULL UNIQUE,
-    account_type ENUM('SAVINGS', 'CURRENT') NOT NULL,
+    account_type ENUM('SAVINGS', 'CHECKING') NOT NULL,
     initial_balance DECIMAL(15,2) NOT NULL,
     status BOOLEAN NOT NULL DEFAULT TRUE,
-    customer_id VARCHAR(100) NOT NULL
+    customer_id VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_accounts_customer (customer_id, account_number)
 );
 
 -- Tabla: transactions
 CREATE TABLE transactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     date DATE NOT NULL,
     type ENUM('DEPOSIT', 'WITHDRAWAL') NOT NULL,
     amount DECIMAL(15,2) NOT NULL,
     balance DECIMAL(15,2) NOT NULL,
     account_id BIGINT NOT NULL,
-    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+    INDEX idx_transactions_account_date (account_id, date, id, type, amount, balance)
+);
+
+-- Secuencia emulada para los ids de transactions (asignación por bloques de 100). En bases existentes la
+-- migración V3__seed_transactions_seq la lleva a MAX(id) + 100, el valor con el que el primer bloque empieza
+-- justo después del último id.
+CREATE TABLE transactions_seq (
+    next_val BIGINT
+);
+INSERT INTO transactions_seq (next_val) VALUES (1);
+
+-- Tabla: daily_balances (proyección diaria de saldos por cuenta)
+CREATE TABLE daily_balances (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    opening_balance DECIMAL(15,2) NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    debit_total DECIMAL(15,2) NOT NULL,
+    credit_total DECIMAL(15,2) NOT NULL,
+    tx_count INT NOT NULL,
+    CONSTRAINT uk_daily_balances_account_date UNIQUE (account_id, date)
+);
+
+-- Tabla: idempotency_keys (opcional, accounts.idempotency.persistent=true)
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(255) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    INDEX idx_idempotency_keys_created_at (created_at)
+);
+
+-- Tabla: archive_segments (catálogo de segmentos de movimientos archivados en disco)
+CREATE TABLE archive_segments (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    row_count INT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_archive_segments_account_period UNIQUE (account_id, period_start)
+);
+
+-- Tabla: report_jobs (reportes asíncronos y sus resultados)
+CREATE TABLE report_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    request_key VARCHAR(150) NOT NULL,
+    customer_id VARCHAR(100) NOT NULL,
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'DONE', 'FAILED') NOT NULL,
+    result LONGTEXT,
+    error VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6) NULL,
+    completed_at TIMESTAMP(6) NULL,
+    INDEX idx_report_jobs_request (request_key, status, completed_at),
+    INDEX idx_report_jobs_status (status),
+    INDEX idx_report_jobs_created_at (created_at)
 );
 
 -- ======================================================
@@ -9,9 +9,11 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitConfig {
 
+    public static final String EXCHANGE = "customers.exchange";
+
     @Bean
     public TopicExchange exchange() {
-        return new TopicExchange("customers.exchange", true, false);
+        return new TopicExchange(EXCHANGE, true, false);
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package com.bank.customers.controller;
 
+import com.bank.customers.dto.CursorPage;
 import com.bank.customers.model.Customer;
 import com.bank.customers.service.CustomerService;
 import lombok.RequiredArgsConstructor;
@@ -7,8 +8,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/customers")
 @RequiredArgsConstructor
@@ -22,13 +21,17 @@ public class CustomerController {
     }
 
     @GetMapping
-    public List<Customer> getAll() {
-        return service.findAll();
+    public CursorPage<Customer> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.findPage(cursor, limit);
     }
 
     @GetMapping("/{customerId}")
     public ResponseEntity<Customer> getById(@PathVariable String customerId) {
-        return ResponseEntity.ok(service.findByCustomerId(customerId));
+        Customer customer = service.findByCustomerId(customerId);
+        // a matching If-None-Match turns this into a 304 before the body is serialized
+        return ResponseEntity.ok().eTag("W/\"" + customer.getVersion() + "\"").body(customer);
     }
 
     @PutMapping("/{customerId}")
@@ -0,0 +1,49 @@
+package com.bank.customers.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private List<T> items;
+    private String nextCursor;
+
+    // rows must be fetched with limit + 1 so the extra row tells whether another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> keyOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(keyOf.apply(items.get(limit - 1))));
+    }
+
+    public static int pageSize(Integer requested, int max) {
+        if (requested == null) {
+            return Math.min(DEFAULT_PAGE_SIZE, max);
+        }
+        return Math.max(1, Math.min(requested, max));
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.customers.events;
+
+import com.bank.customers.model.Customer;
+import com.bank.customers.model.OutboxEvent;
+import com.bank.customers.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerEventOutbox {
+
+    public static final String CREATED = "customer.created";
+    public static final String UPDATED = "customer.updated";
+    public static final String DELETED = "customer.deleted";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    // Must join the caller's transaction so the event commits or rolls back together with the customer row.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String routingKey, Customer customer) {
+        CustomerEvent event = new CustomerEvent(customer.getCustomerId(), customer.getName(), customer.getStatus());
+        repository.save(OutboxEvent.builder()
+                .aggregateId(customer.getCustomerId())
+                .routingKey(routingKey)
+                .payload(serialize(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private String serialize(CustomerEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize customer event", ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.customers.events;
+
+import com.bank.customers.config.RabbitConfig;
+import com.bank.customers.model.OutboxEvent;
+import com.bank.customers.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customers.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactions,
+                       MeterRegistry registry,
+                       @Value("${customers.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${customers.outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.repository = repository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactions = transactions;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.relayed = Counter.builder("customers.outbox.relayed").register(registry);
+        this.failures = Counter.builder("customers.outbox.failures").register(registry);
+        this.batchTimer = Timer.builder("customers.outbox.batch")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${customers.outbox.relay.interval-ms:200}")
+    public void drain() {
+        try {
+            Integer count;
+            do {
+                count = batchTimer.record(() -> transactions.execute(status -> relayBatch()));
+                if (count != null) {
+                    relayed.increment(count);
+                }
+            } while (count != null && count == batchSize);
+        } catch (AmqpException ex) {
+            // Rows stay in the outbox and are retried on the next run
+            failures.increment();
+            log.warn("Outbox relay failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    // Publishes one batch on a single channel, waits for all broker confirms and only then deletes the rows.
+    // A failure rolls back the delete, so delivery is at-least-once.
+    int relayBatch() {
+        List<OutboxEvent> batch = repository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                operations.send(RabbitConfig.EXCHANGE, event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+
+        repository.deleteAllInBatch(batch);
+        log.debug("Relayed {} customer events", batch.size());
+        return batch.size();
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.customers.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -24,4 +25,10 @@ public class Customer extends Person {
 
     @Column(nullable = false)
     private Boolean status = true;
+
+    // bumped by every update; the ETag of GET /customers/{customerId}
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private Long version;
 }
@@ -1,10 +1,14 @@
 package com.bank.customers.repository;
 
 import com.bank.customers.model.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByCustomerId(String customerId);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,10 +1,13 @@
 package com.bank.customers.service;
 
-import com.bank.customers.events.CustomerEvent;
+import com.bank.customers.dto.CursorPage;
+import com.bank.customers.events.CustomerEventOutbox;
+import com.bank.customers.exception.NotFoundException;
 import com.bank.customers.model.Customer;
 import com.bank.customers.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,26 +19,30 @@ import java.util.UUID;
 public class CustomerService {
 
     private final CustomerRepository repository;
-    private final AmqpTemplate amqpTemplate;
+    private final CustomerEventOutbox outbox;
+
+    @Value("${customers.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
 
     @Transactional
     public Customer create(Customer customer) {
         customer.setCustomerId(UUID.randomUUID().toString());
         Customer saved = repository.save(customer);
-
-        CustomerEvent event = new CustomerEvent(saved.getCustomerId(), saved.getName(), saved.getStatus());
-        amqpTemplate.convertAndSend("customers.exchange", "customer.created", event);
-
+        outbox.append(CustomerEventOutbox.CREATED, saved);
         return saved;
     }
 
-    public List<Customer> findAll() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Customer> findPage(String cursor, Integer limit) {
+        int size = CursorPage.pageSize(limit, maxPageSize);
+        long afterId = cursor != null ? Long.parseLong(CursorPage.decode(cursor)) : 0L;
+        List<Customer> rows = repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return CursorPage.of(rows, size, customer -> customer.getId().toString());
     }
 
     public Customer findByCustomerId(String customerId) {
         return repository.findByCustomerId(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+                .orElseThrow(() -> new NotFoundException("Customer not found"));
     }
 
     @Transactional
@@ -45,13 +52,16 @@ public class CustomerService {
         existing.setAddress(data.getAddress());
         existing.setPhoneNumber(data.getPhoneNumber());
         existing.setStatus(data.getStatus());
-        return repository.save(existing);
+        Customer saved = repository.save(existing);
+        outbox.append(CustomerEventOutbox.UPDATED, saved);
+        return saved;
     }
 
     @Transactional
     public void delete(String customerId) {
         Customer existing = findByCustomerId(customerId);
         repository.delete(existing);
+        outbox.append(CustomerEventOutbox.DELETED, existing);
     }
 }
 
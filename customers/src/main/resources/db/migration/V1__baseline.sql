@@ -0,0 +1,15 @@
+-- Schema as created by banking_schema.sql before migrations were introduced, and nothing more: existing
+-- databases are baselined at this version (spring.flyway.baseline-on-migrate) and never run this file.
+
+CREATE TABLE customers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL,
+    status BOOLEAN NOT NULL DEFAULT TRUE,
+    name VARCHAR(100) NOT NULL,
+    gender VARCHAR(20) NOT NULL,
+    age INT CHECK (age >= 0),
+    identification VARCHAR(50) NOT NULL,
+    address VARCHAR(150) NOT NULL,
+    phone_number VARCHAR(20) NOT NULL
+);
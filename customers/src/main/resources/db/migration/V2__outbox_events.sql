@@ -0,0 +1,9 @@
+-- Customer events waiting to be published to RabbitMQ (see OutboxRelay).
+-- IF NOT EXISTS because a database that ran that version under ddl-auto: update already has the table.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
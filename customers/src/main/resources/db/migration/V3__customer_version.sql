@@ -0,0 +1,2 @@
+-- Optimistic-lock version, bumped on every update; GET /customers/{customerId} derives its ETag from it.
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
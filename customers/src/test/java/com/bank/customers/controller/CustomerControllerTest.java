@@ -0,0 +1,89 @@
+package com.bank.customers.controller;
+
+import com.bank.customers.exception.GlobalExceptionHandler;
+import com.bank.customers.exception.NotFoundException;
+import com.bank.customers.model.Customer;
+import com.bank.customers.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerControllerTest {
+
+    @Mock
+    private CustomerService service;
+
+    private MockMvc mvc;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new CustomerController(service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        customer = new Customer();
+        customer.setCustomerId("C-1");
+        customer.setName("Jose Lema");
+        customer.setStatus(true);
+        customer.setVersion(3L);
+    }
+
+    @Test
+    void getById_returnsAWeakETagFromTheVersion() throws Exception {
+        when(service.findByCustomerId("C-1")).thenReturn(customer);
+
+        mvc.perform(get("/customers/C-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(jsonPath("$.customerId").value("C-1"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getById_withTheCurrentETagReturnsNotModifiedWithoutABody() throws Exception {
+        when(service.findByCustomerId("C-1")).thenReturn(customer);
+
+        mvc.perform(get("/customers/C-1").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getById_afterAnUpdateReturnsTheNewVersion() throws Exception {
+        customer.setVersion(4L);
+        when(service.findByCustomerId("C-1")).thenReturn(customer);
+
+        mvc.perform(get("/customers/C-1").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""))
+                .andExpect(jsonPath("$.name").value("Jose Lema"));
+    }
+
+    @Test
+    void getById_unknownCustomerIsNotFound() throws Exception {
+        when(service.findByCustomerId("C-2")).thenThrow(new NotFoundException("Customer not found"));
+
+        mvc.perform(get("/customers/C-2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAll_withAnInvalidCursorIsABadRequest() throws Exception {
+        when(service.findPage("bogus", null)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mvc.perform(get("/customers").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+}
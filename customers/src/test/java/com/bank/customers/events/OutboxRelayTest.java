@@ -0,0 +1,149 @@
+package com.bank.customers.events;
+
+import com.bank.customers.config.RabbitConfig;
+import com.bank.customers.model.OutboxEvent;
+import com.bank.customers.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry registry;
+
+    private OutboxRelay relay;
+
+    private List<OutboxEvent> batch;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(repository, rabbitTemplate, new TransactionTemplate(transactionManager), registry,
+                200, CONFIRM_TIMEOUT_MS);
+        batch = List.of(event(1L, "customer.created"), event(2L, "customer.updated"));
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    void rows_are_deleted_only_after_the_broker_confirmed_the_whole_batch() {
+        when(repository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(batch);
+
+        relay.drain();
+
+        InOrder order = inOrder(repository, operations, transactionManager);
+        order.verify(repository).findAllByOrderByIdAsc(Limit.of(200));
+        order.verify(operations).send(eq(RabbitConfig.EXCHANGE), eq("customer.created"), any(Message.class));
+        order.verify(operations).send(eq(RabbitConfig.EXCHANGE), eq("customer.updated"), any(Message.class));
+        order.verify(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+        order.verify(repository).deleteAllInBatch(batch);
+        order.verify(transactionManager).commit(any());
+        assertEquals(2, registry.counter("customers.outbox.relayed").count());
+    }
+
+    @Test
+    void confirm_timeout_leaves_the_events_in_the_outbox() {
+        when(repository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(batch);
+        doThrow(new AmqpTimeoutException("no confirms")).when(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+
+        relay.drain();
+
+        verify(repository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1, registry.counter("customers.outbox.failures").count());
+        assertEquals(0, registry.counter("customers.outbox.relayed").count());
+    }
+
+    @Test
+    void nacked_batch_is_published_again_on_the_next_run() {
+        when(repository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(batch);
+        // with simple confirms a nack surfaces from waitForConfirmsOrDie as an IOException from the channel
+        doThrow(new AmqpIOException(new IOException("nacks received")))
+                .doNothing()
+                .when(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+
+        relay.drain();
+        verify(repository, never()).deleteAllInBatch(any());
+
+        relay.drain();
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(operations, times(4)).send(eq(RabbitConfig.EXCHANGE), anyString(), sent.capture());
+        assertEquals(List.of("1", "2", "1", "2"),
+                sent.getAllValues().stream().map(m -> m.getMessageProperties().getMessageId()).toList());
+        verify(repository, times(1)).deleteAllInBatch(batch);
+        assertEquals(1, registry.counter("customers.outbox.failures").count());
+        assertEquals(2, registry.counter("customers.outbox.relayed").count());
+    }
+
+    @Test
+    void publish_failure_skips_the_confirm_and_the_delete() {
+        when(repository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(batch);
+        doThrow(new AmqpIOException(new IOException("channel closed")))
+                .when(operations).send(anyString(), anyString(), any(Message.class));
+
+        relay.drain();
+
+        verify(operations, never()).waitForConfirmsOrDie(anyLong());
+        verify(repository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void empty_outbox_publishes_nothing() {
+        when(repository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        relay.drain();
+
+        verifyNoInteractions(operations);
+        verify(repository, never()).deleteAllInBatch(any());
+    }
+
+    private static OutboxEvent event(Long id, String routingKey) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId("C-" + id)
+                .routingKey(routingKey)
+                .payload("{\"customerId\":\"C-" + id + "\"}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.customers.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.DatabaseVersion;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxEventRepositoryTest {
+
+    @Test
+    void relay_claims_its_batch_with_a_write_lock_that_skips_locked_rows() throws Exception {
+        Method claim = OutboxEventRepository.class.getMethod("findAllByOrderByIdAsc", Limit.class);
+
+        assertEquals(LockModeType.PESSIMISTIC_WRITE, claim.getAnnotation(Lock.class).value());
+        QueryHint[] hints = claim.getAnnotation(QueryHints.class).value();
+        assertEquals(1, hints.length);
+        assertEquals("jakarta.persistence.lock.timeout", hints[0].name());
+        assertEquals(String.valueOf(LockOptions.SKIP_LOCKED), hints[0].value());
+    }
+
+    // H2 has no SKIP LOCKED, so the clause is checked against the dialect the service runs on
+    @Test
+    void mysql_renders_the_claim_as_for_update_skip_locked() {
+        MySQLDialect dialect = new MySQLDialect(DatabaseVersion.make(8, 0));
+
+        assertEquals(" for update skip locked", dialect.getWriteLockString(LockOptions.SKIP_LOCKED));
+    }
+}
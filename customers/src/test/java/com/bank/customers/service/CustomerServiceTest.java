@@ -1,6 +1,7 @@
 package com.bank.customers.service;
 
-import com.bank.customers.events.CustomerEvent;
+import com.bank.customers.dto.CursorPage;
+import com.bank.customers.events.CustomerEventOutbox;
 import com.bank.customers.model.Customer;
 import com.bank.customers.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,9 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -23,7 +26,7 @@ class CustomerServiceTest {
     private CustomerRepository repository;
 
     @Mock
-    private AmqpTemplate amqpTemplate;
+    private CustomerEventOutbox outbox;
 
     @InjectMocks
     private CustomerService service;
@@ -36,7 +39,7 @@ class CustomerServiceTest {
         customer.setName("Jose Lema");
         customer.setStatus(true);
 
-        when(repository.save(any(Customer.class))).thenAnswer(invocation -> {
+        lenient().when(repository.save(any(Customer.class))).thenAnswer(invocation -> {
             Customer c = invocation.getArgument(0);
             c.setCustomerId(UUID.randomUUID().toString());
             return c;
@@ -51,7 +54,53 @@ class CustomerServiceTest {
         assertEquals("Jose Lema", saved.getName());
         verify(repository, times(1)).save(any(Customer.class));
 
-        verify(amqpTemplate, times(1))
-                .convertAndSend(eq("customers.exchange"), eq("customer.created"), any(CustomerEvent.class));
+        verify(outbox, times(1)).append(eq(CustomerEventOutbox.CREATED), same(saved));
+    }
+
+    @Test
+    void findPage_fetchesOneExtraRowToDetectTheNextPage() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(customers(1, 3));
+
+        CursorPage<Customer> page = service.findPage(null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(Customer::getId).toList());
+        assertEquals(CursorPage.encode("2"), page.getNextCursor());
+    }
+
+    @Test
+    void findPage_continuesAfterTheCursorAndEndsWithoutOne() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(customers(3, 4));
+
+        CursorPage<Customer> page = service.findPage(CursorPage.encode("2"), 2);
+
+        assertEquals(List.of(3L, 4L), page.getItems().stream().map(Customer::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findPage_capsTheLimitAtTheMaximumPageSize() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of());
+
+        service.findPage(null, 10_000);
+        service.findPage(null, null);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(501));
+        verify(repository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPage.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void findPage_rejectsACursorItDidNotIssue() {
+        assertThrows(IllegalArgumentException.class, () -> service.findPage("not base64!", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(CursorPage.encode("abc"), 10));
+        verifyNoInteractions(repository);
+    }
+
+    private static List<Customer> customers(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> {
+            Customer c = new Customer();
+            c.setId(id);
+            c.setCustomerId("C-" + id);
+            return c;
+        }).toList();
     }
 }
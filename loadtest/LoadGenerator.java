@@ -0,0 +1,418 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load generator for the customers and accounts services.
+ *
+ * Requests are scheduled at a fixed rate regardless of how fast responses come back, and latency is measured
+ * from the intended start time, so a stalled server shows up in the tail instead of lowering the load.
+ *
+ * Run with {@code java LoadGenerator.java [--option value ...]}; see {@link Options} for the options.
+ * Exits with 1 when the error rate exceeds --max-error-rate and 2 when the seed data cannot be created.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadGenerator generator = new LoadGenerator(options);
+
+        List<Seed> seeds;
+        try {
+            seeds = generator.seed();
+        } catch (IOException | IllegalStateException ex) {
+            System.err.println("Seeding failed: " + ex.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        Map<String, Recorder> results = generator.run(seeds);
+        String json = report(options, results, generator.samples);
+        System.out.println(json);
+        if (options.out != null) {
+            Path out = Path.of(options.out);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.writeString(out, json);
+        }
+
+        double errorRate = errorRate(results);
+        if (errorRate > options.maxErrorRate) {
+            System.err.printf(Locale.ROOT, "Error rate %.4f above limit %.4f%n", errorRate, options.maxErrorRate);
+            System.exit(1);
+        }
+    }
+
+    private static final Pattern CUSTOMER_ID = Pattern.compile("\"customerId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern MEASUREMENT = Pattern.compile("\"value\"\\s*:\\s*([-0-9.eE]+)");
+
+    private final Options options;
+    private final HttpClient client;
+    private final Map<String, Sample> samples = new LinkedHashMap<>();
+
+    LoadGenerator(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    // Creates the customers and accounts the mix posts to and reports on
+    List<Seed> seed() throws IOException, InterruptedException {
+        List<Seed> seeds = new ArrayList<>(options.seedCustomers);
+        for (int i = 0; i < options.seedCustomers; i++) {
+            String customerId = extract(CUSTOMER_ID, send(customerRequest()));
+            String accountNumber = extract(ACCOUNT_NUMBER, send(accountRequest(customerId)));
+            seeds.add(new Seed(customerId, accountNumber));
+        }
+        return seeds;
+    }
+
+    Map<String, Recorder> run(List<Seed> seeds) throws InterruptedException {
+        Map<String, Recorder> results = new LinkedHashMap<>();
+        options.mix.keySet().forEach(op -> results.put(op, new Recorder()));
+        String[] plan = plan(options.mix);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        Thread sampler = sampler(measureFrom, end);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String op = plan[(int) (i % plan.length)];
+            Seed seed = seeds.get(ThreadLocalRandom.current().nextInt(seeds.size()));
+            Recorder recorder = intended >= measureFrom ? results.get(op) : null;
+            inFlight.add(client.sendAsync(request(op, seed), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (recorder != null) {
+                            boolean ok = error == null && response.statusCode() < 400;
+                            recorder.record(System.nanoTime() - intended, ok);
+                        }
+                        return null;
+                    }));
+            if (inFlight.size() >= 10_000) {
+                inFlight.removeIf(CompletableFuture::isDone);
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            System.err.println("Some requests did not complete: " + ex);
+        }
+        sampler.join();
+        results.values().forEach(r -> r.elapsedNanos = end - measureFrom);
+        return results;
+    }
+
+    // Polls the accounts service's actuator during the measured window: connections held by each pool, requests
+    // in flight, threads and heap. Metrics the service does not report (e.g. r2dbc.pool.* with the reactive path
+    // off) are left out of the summary.
+    private Thread sampler(long from, long end) {
+        options.sampleMetrics.forEach(metric -> samples.put(metric, new Sample()));
+        Thread thread = new Thread(() -> {
+            LockSupport.parkNanos(from - System.nanoTime());
+            while (System.nanoTime() < end) {
+                for (Map.Entry<String, Sample> entry : samples.entrySet()) {
+                    try {
+                        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                                        URI.create(options.accountsUrl + "/actuator/metrics/" + entry.getKey()))
+                                .timeout(Duration.ofSeconds(2)).GET().build(), HttpResponse.BodyHandlers.ofString());
+                        Matcher value = MEASUREMENT.matcher(response.body());
+                        if (response.statusCode() == 200 && value.find()) {
+                            entry.getValue().add(Double.parseDouble(value.group(1)));
+                        }
+                    } catch (IOException ex) {
+                        // a missed sample only thins the series
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(options.sampleIntervalMs));
+            }
+        }, "metrics-sampler");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private HttpRequest request(String op, Seed seed) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (op) {
+            case "customers" -> customerRequest();
+            case "postings" -> json(options.accountsUrl + "/transactions", String.format(Locale.ROOT,
+                    "{\"accountNumber\":\"%s\",\"type\":\"%s\",\"amount\":%d.%02d}",
+                    seed.accountNumber(), random.nextInt(10) < 7 ? "DEPOSIT" : "WITHDRAWAL",
+                    1 + random.nextInt(50), random.nextInt(100)));
+            case "reports" -> get("/reports" + reportQuery(seed));
+            case "reports-reactive" -> get("/reactive/reports" + reportQuery(seed));
+            case "account" -> get("/accounts/" + seed.accountNumber());
+            case "account-reactive" -> get("/reactive/accounts/" + seed.accountNumber());
+            default -> throw new IllegalArgumentException("Unknown operation " + op);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(options.accountsUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static String reportQuery(Seed seed) {
+        LocalDate today = LocalDate.now();
+        return "?from=" + today.minusDays(30) + "&to=" + today + "&customer=" + seed.customerId();
+    }
+
+    private HttpRequest customerRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return json(options.customersUrl + "/customers", String.format(Locale.ROOT,
+                "{\"name\":\"Load %s\",\"gender\":\"F\",\"age\":%d,\"identification\":\"%010d\","
+                        + "\"address\":\"Calle %d\",\"phoneNumber\":\"09%08d\",\"password\":\"secret\",\"status\":true}",
+                UUID.randomUUID(), 18 + random.nextInt(60), random.nextLong(10_000_000_000L),
+                random.nextInt(1000), random.nextInt(100_000_000)));
+    }
+
+    private HttpRequest accountRequest(String customerId) {
+        return json(options.accountsUrl + "/accounts", "{\"accountType\":\"SAVINGS\",\"initialBalance\":100000.00,"
+                + "\"status\":true,\"customerId\":\"" + customerId + "\"}");
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String extract(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    // Interleaves operations according to their weights, e.g. {postings=3, reports=1} -> [postings, postings, postings, reports]
+    private static String[] plan(Map<String, Integer> mix) {
+        List<String> slots = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(op);
+            }
+        });
+        String[] plan = slots.toArray(String[]::new);
+        // deterministic shuffle so runs are repeatable
+        java.util.Random random = new java.util.Random(42);
+        for (int i = plan.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String tmp = plan[i];
+            plan[i] = plan[j];
+            plan[j] = tmp;
+        }
+        return plan;
+    }
+
+    private static double errorRate(Map<String, Recorder> results) {
+        long total = results.values().stream().mapToLong(Recorder::count).sum();
+        long errors = results.values().stream().mapToLong(r -> r.errors).sum();
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    private static String report(Options options, Map<String, Recorder> results, Map<String, Sample> samples) {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+                "{\"targetRate\":%d,\"durationSeconds\":%d,\"warmupSeconds\":%d,\"errorRate\":%.6f,\"operations\":{",
+                options.rate, options.durationSeconds, options.warmupSeconds, errorRate(results)));
+        String separator = "";
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            Recorder r = entry.getValue();
+            long[] sorted = r.sorted();
+            json.append(separator).append(String.format(Locale.ROOT,
+                    "\"%s\":{\"requests\":%d,\"errors\":%d,\"throughput\":%.2f,"
+                            + "\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+                    entry.getKey(), sorted.length, r.errors,
+                    sorted.length / (r.elapsedNanos / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+            separator = ",";
+        }
+        json.append("},\"server\":{");
+        separator = "";
+        for (Map.Entry<String, Sample> entry : samples.entrySet()) {
+            Sample s = entry.getValue();
+            if (s.count == 0) {
+                continue;
+            }
+            json.append(separator).append(String.format(Locale.ROOT, "\"%s\":{\"max\":%.1f,\"mean\":%.1f}",
+                    entry.getKey().replace("\"", ""), s.max, s.sum / s.count));
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    record Seed(String customerId, String accountNumber) {
+    }
+
+    static final class Sample {
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private long count;
+
+        void add(double value) {
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+        }
+    }
+
+    static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long elapsedNanos;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * --customers-url   (default http://localhost:8081)
+     * --accounts-url    (default http://localhost:8082)
+     * --rate            requests per second across all operations (default 100)
+     * --duration        measured seconds (default 60)
+     * --warmup          seconds excluded from the results (default 10)
+     * --mix             weights per operation (default customers=5,postings=80,reports=15); operations:
+     *                   customers, postings, reports, reports-reactive, account, account-reactive
+     * --seed-customers  customers/accounts created before the run (default 50)
+     * --max-error-rate  fraction of failed requests tolerated (default 0.01)
+     * --out             JSON summary file (optional)
+     * --sample-metrics  accounts actuator metrics sampled during the measured window, comma separated
+     *                   (default: pool connections in use, requests in flight, live threads, used heap)
+     * --sample-interval-ms  sampling period (default 500)
+     */
+    static final class Options {
+        static final List<String> OPERATIONS = List.of("customers", "postings", "reports", "reports-reactive",
+                "account", "account-reactive");
+
+        String customersUrl = "http://localhost:8081";
+        String accountsUrl = "http://localhost:8082";
+        int rate = 100;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        Map<String, Integer> mix = parseMix("customers=5,postings=80,reports=15");
+        int seedCustomers = 50;
+        double maxErrorRate = 0.01;
+        String out;
+        List<String> sampleMetrics = List.of("hikaricp.connections.active", "r2dbc.pool.acquired",
+                "http.server.requests.active", "jvm.threads.live", "jvm.memory.used?tag=area:heap");
+        long sampleIntervalMs = 500;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--customers-url" -> options.customersUrl = value;
+                    case "--accounts-url" -> options.accountsUrl = value;
+                    case "--rate" -> options.rate = Integer.parseInt(value);
+                    case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--mix" -> options.mix = parseMix(value);
+                    case "--seed-customers" -> options.seedCustomers = Integer.parseInt(value);
+                    case "--max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                    case "--out" -> options.out = value;
+                    case "--sample-metrics" -> options.sampleMetrics = value.isBlank() ? List.of() : List.of(value.split(","));
+                    case "--sample-interval-ms" -> options.sampleIntervalMs = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (options.rate <= 0 || options.seedCustomers <= 0) {
+                throw new IllegalArgumentException("--rate and --seed-customers must be positive");
+            }
+            return options;
+        }
+
+        static Map<String, Integer> parseMix(String value) {
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            for (String part : value.split(",")) {
+                String[] kv = part.split("=");
+                int weight = Integer.parseInt(kv[1].trim());
+                if (!OPERATIONS.contains(kv[0].trim())) {
+                    throw new IllegalArgumentException("Unknown operation in --mix: " + kv[0]);
+                }
+                if (weight > 0) {
+                    mix.put(kv[0].trim(), weight);
+                }
+            }
+            return mix;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Builds both services with the loadtest profile (embedded H2, no RabbitMQ), starts them, runs
+# LoadGenerator with the given options and stops them again. The JSON summary is written to
+# loadtest/target/summary.json and the exit code is the generator's (1 = error rate above limit).
+#
+#   loadtest/run.sh --rate 200 --duration 60 --mix customers=5,postings=80,reports=15
+#   VIRTUAL_THREADS_ENABLED=true loadtest/run.sh --rate 500
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/loadtest/target"
+CUSTOMERS_PORT="${CUSTOMERS_PORT:-18081}"
+ACCOUNTS_PORT="${ACCOUNTS_PORT:-18082}"
+mkdir -p "$OUT"
+
+build() {
+    (cd "$ROOT/$1" && ./mvnw -q -B -Ploadtest -DskipTests package)
+}
+
+start() {
+    local service="$1" port="$2"
+    java ${JAVA_OPTS:-} -jar "$ROOT/$service/target/$service-0.0.1-SNAPSHOT.jar" \
+        --spring.profiles.active=loadtest --server.port="$port" > "$OUT/$service.log" 2>&1 &
+    echo $!
+}
+
+wait_for() {
+    local url="$1"
+    for _ in $(seq 1 120); do
+        if curl -sf -o /dev/null "$url"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Timed out waiting for $url" >&2
+    return 1
+}
+
+build customers
+build accounts
+
+CUSTOMERS_PID="$(start customers "$CUSTOMERS_PORT")"
+ACCOUNTS_PID="$(start accounts "$ACCOUNTS_PORT")"
+trap 'kill "$CUSTOMERS_PID" "$ACCOUNTS_PID" 2>/dev/null || true' EXIT
+
+wait_for "http://localhost:$CUSTOMERS_PORT/customers?limit=1"
+wait_for "http://localhost:$ACCOUNTS_PORT/actuator/health"
+
+java "$ROOT/loadtest/LoadGenerator.java" \
+    --customers-url "http://localhost:$CUSTOMERS_PORT" \
+    --accounts-url "http://localhost:$ACCOUNTS_PORT" \
+    --out "$OUT/summary.json" \
+    "$@"